@@ -2,13 +2,22 @@ package com.codella.skymasters;
 
 import com.codella.skymasters.managers.ArenaManager;
 import com.codella.skymasters.managers.ConfigManager;
+import com.codella.skymasters.managers.HudManager;
 import com.codella.skymasters.managers.KitManager;
+import com.codella.skymasters.managers.LobbyDisplayManager;
+import com.codella.skymasters.managers.PlayerStateManager;
 import com.codella.skymasters.managers.SetupManager;
+import com.codella.skymasters.managers.TeleportManager;
+import com.codella.skymasters.managers.TimelineManager;
+import com.codella.skymasters.managers.VisibilityManager;
 import com.codella.skymasters.commands.SkywarsCommand;
 import com.codella.skymasters.commands.KitCommand;
 import com.codella.skymasters.listeners.PlayerListener;
 import com.codella.skymasters.listeners.GameListener;
 import com.codella.skymasters.listeners.SetupListener;
+import com.codella.skymasters.listeners.ArenaProtectionListener;
+import com.codella.skymasters.listeners.ChatListener;
+import com.codella.skymasters.listeners.LobbyListener;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -22,6 +31,12 @@ public final class SkyMasters extends JavaPlugin {
     private ArenaManager arenaManager;
     private KitManager kitManager;
     private SetupManager setupManager;
+    private TimelineManager timelineManager;
+    private VisibilityManager visibilityManager;
+    private TeleportManager teleportManager;
+    private PlayerStateManager playerStateManager;
+    private HudManager hudManager;
+    private LobbyDisplayManager lobbyDisplayManager;
 
     @Override
     public void onEnable() {
@@ -34,10 +49,20 @@ public final class SkyMasters extends JavaPlugin {
         kitManager = new KitManager(this);
         arenaManager = new ArenaManager(this);
         setupManager = new SetupManager(this);
+        visibilityManager = new VisibilityManager(this);
+        teleportManager = new TeleportManager(this);
+        playerStateManager = new PlayerStateManager(this);
+        playerStateManager.start(); // Async task writing queued snapshots
+        timelineManager = new TimelineManager(this);
+        timelineManager.start(); // Single tick task driving every arena timeline
+        hudManager = new HudManager(this);
+        hudManager.start(); // Single task for every arena's action bar
+        lobbyDisplayManager = new LobbyDisplayManager(this);
 
         // Load data
         kitManager.loadKits();
         arenaManager.loadArenas(); // Load arenas after managers are ready
+        lobbyDisplayManager.loadSigns();
 
         // Register Commands
         Objects.requireNonNull(getCommand("skywars")).setExecutor(new SkywarsCommand(this));
@@ -49,6 +74,9 @@ public final class SkyMasters extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new PlayerListener(this), this);
         Bukkit.getPluginManager().registerEvents(new GameListener(this), this);
         Bukkit.getPluginManager().registerEvents(new SetupListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new ArenaProtectionListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new ChatListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new LobbyListener(this), this);
 
         getLogger().info("SkyMasters has been enabled!");
     }
@@ -59,6 +87,21 @@ public final class SkyMasters extends JavaPlugin {
         if (arenaManager != null) {
             arenaManager.stopAllArenas(); // Cleanly stop games
         }
+        if (teleportManager != null) {
+            teleportManager.stop(); // Players removed above are still waiting to be sent out
+        }
+        if (playerStateManager != null) {
+            playerStateManager.stop(); // Write the snapshot deletions of the players restored above
+        }
+        if (visibilityManager != null) {
+            visibilityManager.reset(); // Lobby players are still hidden from outsiders
+        }
+        if (timelineManager != null) {
+            timelineManager.stop();
+        }
+        if (hudManager != null) {
+            hudManager.stop();
+        }
         // Perform any other necessary cleanup
         getLogger().info("SkyMasters has been disabled.");
         instance = null;
@@ -85,6 +128,30 @@ public final class SkyMasters extends JavaPlugin {
         return setupManager;
     }
 
+    public TimelineManager getTimelineManager() {
+        return timelineManager;
+    }
+
+    public VisibilityManager getVisibilityManager() {
+        return visibilityManager;
+    }
+
+    public TeleportManager getTeleportManager() {
+        return teleportManager;
+    }
+
+    public PlayerStateManager getPlayerStateManager() {
+        return playerStateManager;
+    }
+
+    public HudManager getHudManager() {
+        return hudManager;
+    }
+
+    public LobbyDisplayManager getLobbyDisplayManager() {
+        return lobbyDisplayManager;
+    }
+
      public File getArenasFolder() {
         File arenasFolder = new File(getDataFolder(), "arenas");
         if (!arenasFolder.exists()) {
@@ -4,6 +4,7 @@ import com.codella.skymasters.SkyMasters;
 import com.codella.skymasters.game.Arena;
 import com.codella.skymasters.game.GameState;
 import com.codella.skymasters.game.Kit;
+import com.codella.skymasters.utils.Placeholder;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -52,7 +53,7 @@ public class KitCommand implements CommandExecutor, TabCompleter {
             // handleGui(sender);
             // break;
             default:
-                 sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/kit <list|select|create|delete> [args]")));
+                 sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/kit <list|select|create|delete> [args]")));
                  break;
         }
 
@@ -62,39 +63,39 @@ public class KitCommand implements CommandExecutor, TabCompleter {
     private void handleList(CommandSender sender) {
          if (!(sender instanceof Player)) {
             // List all kits for console or non-players? Or restrict? Restrict for now.
-            sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
             return;
          }
          Player player = (Player) sender;
          List<Kit> availableKits = plugin.getKitManager().getAvailableKits(player);
 
          if (availableKits.isEmpty()) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-none-available"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-none-available"));
              return;
          }
 
-         player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-list-header"));
+         player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-list-header"));
          for (Kit kit : availableKits) {
               // Use specific message key for list item
-             player.sendMessage(plugin.getConfigManager().getMessage("kit-list-item-available", Map.of("kit", kit.getName())));
+             player.sendMessage(plugin.getConfigManager().getMessage(player, "kit-list-item-available", Placeholder.of("kit", kit.getName())));
          }
          // Optional: Add pagination if many kits exist
     }
 
     private void handleSelect(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
             return;
         }
         Player player = (Player) sender;
         if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/kit select <kit_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/kit select <kit_name>")));
             return;
         }
 
         Arena arena = plugin.getArenaManager().getPlayerArena(player);
         if (arena == null || (arena.getState() != GameState.WAITING && arena.getState() != GameState.STARTING)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-select-wrong-state"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-select-wrong-state"));
             return;
         }
 
@@ -102,18 +103,18 @@ public class KitCommand implements CommandExecutor, TabCompleter {
         Kit kit = plugin.getKitManager().getKit(kitName);
 
         if (kit == null) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-not-found", Map.of("kit", kitName)));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-not-found", Placeholder.of("kit", kitName)));
             return;
         }
 
          if (!plugin.getKitManager().canUseKit(player, kit)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("no-kit-permission", Map.of("kit", kit.getName())));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "no-kit-permission", Placeholder.of("kit", kit.getName())));
             return;
          }
 
          // Apply the kit (store selection for later application or apply immediately if allowed)
-         arena.setSelectedKit(player.getUniqueId(), kit);
-         player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-selected", Map.of("kit", kit.getName())));
+         arena.setSelectedKit(player, kit);
+         player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-selected", Placeholder.of("kit", kit.getName())));
 
         // Optionally apply immediately if in lobby state AND allowed by config?
         // plugin.getKitManager().giveKit(player, kit); // Or do this when game starts
@@ -121,16 +122,16 @@ public class KitCommand implements CommandExecutor, TabCompleter {
 
     private void handleCreate(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
             return;
         }
         if (!sender.hasPermission("skymasters.admin")) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("no-permission"));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "no-permission"));
              return;
         }
         Player player = (Player) sender;
         if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/kit create <kit_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/kit create <kit_name>")));
             return;
         }
 
@@ -138,13 +139,13 @@ public class KitCommand implements CommandExecutor, TabCompleter {
          // Basic sanitization? Avoid special chars maybe? For now, allow most names.
          // Let's prevent purely numeric names as they can be confusing.
         if (kitName.matches("\\d+")) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-name-numeric"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-name-numeric"));
              return;
         }
 
 
         if (plugin.getKitManager().kitExists(kitName)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-already-exists", Map.of("kit", kitName)));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-already-exists", Placeholder.of("kit", kitName)));
             return;
         }
 
@@ -156,7 +157,7 @@ public class KitCommand implements CommandExecutor, TabCompleter {
          for (ItemStack item : mainContents) { if (item != null && item.getType() != Material.AIR) { isEmpty = false; break; } }
          for (ItemStack item : armorContents) { if (item != null && item.getType() != Material.AIR) { isEmpty = false; break; } }
          if (isEmpty) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-create-empty-inventory"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-create-empty-inventory"));
             return;
          }
 
@@ -181,33 +182,33 @@ public class KitCommand implements CommandExecutor, TabCompleter {
         String description = "Kit created by " + player.getName(); // Default description
 
          if (plugin.getKitManager().createKit(kitName, description, permission, itemsList.toArray(new ItemStack[0]), clonedArmor)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-created", Map.of("kit", kitName)));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-created", Placeholder.of("kit", kitName)));
          } else {
              // Should not happen if exists check passed, but good practice
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-create-failed", Map.of("kit", kitName)));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "kit-create-failed", Placeholder.of("kit", kitName)));
          }
     }
 
     private void handleDelete(CommandSender sender, String[] args) {
         if (!sender.hasPermission("skymasters.admin")) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("no-permission"));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "no-permission"));
              return;
         }
          if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/kit delete <kit_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/kit delete <kit_name>")));
             return;
         }
 
         String kitName = args[1];
         if (!plugin.getKitManager().kitExists(kitName)) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-not-found", Map.of("kit", kitName)));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "kit-not-found", Placeholder.of("kit", kitName)));
             return;
         }
 
          if (plugin.getKitManager().deleteKit(kitName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-deleted", Map.of("kit", kitName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "kit-deleted", Placeholder.of("kit", kitName)));
         } else {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-delete-failed", Map.of("kit", kitName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "kit-delete-failed", Placeholder.of("kit", kitName)));
         }
     }
 
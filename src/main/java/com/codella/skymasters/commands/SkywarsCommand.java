@@ -3,6 +3,7 @@ package com.codella.skymasters.commands;
 import com.codella.skymasters.SkyMasters;
 import com.codella.skymasters.game.Arena;
 import com.codella.skymasters.game.GameState;
+import com.codella.skymasters.utils.Placeholder;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -43,10 +44,14 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
             handleList(sender);
             return true;
         }
+        if (subCommand.equals("menu")) {
+            handleMenu(sender);
+            return true;
+        }
 
         // --- Admin Commands ---
         if (!sender.hasPermission("skymasters.admin")) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("no-permission"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "no-permission"));
             return true;
         }
 
@@ -72,9 +77,12 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
             case "addspawn":
                 handleAddSpawn(sender);
                 break;
+            case "setchesttier":
+                handleSetChestTier(sender, args);
+                break;
             case "addchest": // Implicitly handles remove via listener now
             case "removechest":
-                 sender.sendMessage(plugin.getConfigManager().getMessage("prefix") + plugin.getConfigManager().getMessage("setup-use-wand-for-chest"));
+                 sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "setup-use-wand-for-chest"));
                  break;
             case "enable":
                 handleEnable(sender, args);
@@ -109,13 +117,13 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
     private void handleJoin(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
             return;
         }
         Player player = (Player) sender;
 
         if (plugin.getArenaManager().isPlayerInArena(player)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("already-in-arena"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "already-in-arena"));
             return;
         }
 
@@ -123,63 +131,46 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
         if (args.length > 1) {
             targetArena = plugin.getArenaManager().getArena(args[1]);
             if (targetArena == null) {
-                player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", args[1])));
+                player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-not-found", Placeholder.of("arena", args[1])));
                 return;
             }
-            if (!targetArena.isEnabled()){
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-ready", Map.of("arena", args[1])));
-                 return;
-            }
         } else {
             // Find the best available arena
             targetArena = plugin.getArenaManager().findAvailableArena();
             if (targetArena == null) {
-                player.sendMessage(plugin.getConfigManager().getPrefixedMessage("no-available-arenas"));
+                player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "no-available-arenas"));
                 return;
             }
         }
 
-        // Check state and capacity AFTER finding/specifying arena
-        if (targetArena.getState() != GameState.WAITING && targetArena.getState() != GameState.STARTING) {
-             if (targetArena.getState() == GameState.IN_GAME && plugin.getConfigManager().isSpectatorsAllowed()) {
-                 // Join as spectator
-                 if (targetArena.addSpectator(player)) {
-                    // Message sent by addSpectator
-                 } else {
-                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-spectate", Map.of("arena", targetArena.getName())));
-                 }
-                 return; // Added as spectator or failed, stop here
-             } else {
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-in-game", Map.of("arena", targetArena.getName())));
-                 return;
-             }
-        }
-
-        if (targetArena.getPlayers().size() >= plugin.getConfigManager().getMaxPlayersPerArena()) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-full", Map.of("arena", targetArena.getName())));
-             return;
-        }
-
-        plugin.getArenaManager().addPlayerToArena(player, targetArena);
+        plugin.getArenaManager().joinArena(player, targetArena);
         // Join message is sent from Arena.addPlayer()
     }
 
     private void handleLeave(CommandSender sender) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
             return;
         }
         Player player = (Player) sender;
         if (!plugin.getArenaManager().isPlayerInArena(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("not-in-arena"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "not-in-arena"));
             return;
         }
         plugin.getArenaManager().removePlayerFromArena(player);
         // Leave message is sent from Arena.removePlayer()
     }
 
+    private void handleMenu(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
+            return;
+        }
+        plugin.getLobbyDisplayManager().openSelector((Player) sender);
+    }
+
     private void handleList(CommandSender sender) {
-        sender.sendMessage(plugin.getConfigManager().getMessage("prefix") + plugin.getConfigManager().getMessage("arena-list-header"));
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-list-header"));
         boolean anyAvailable = false;
         for (Arena arena : plugin.getArenaManager().getAllArenas()) {
             if(arena.isEnabled()){
@@ -199,7 +190,7 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
             }
         }
         if (!anyAvailable) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("prefix") + plugin.getConfigManager().getMessage("no-enabled-arenas"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "no-enabled-arenas"));
         }
     }
 
@@ -208,12 +199,12 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
     private void handleSetup(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
             return;
         }
         Player player = (Player) sender;
         if (args.length < 2) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw setup <arena_name>")));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw setup <arena_name>")));
             return;
         }
         String arenaName = args[1];
@@ -222,7 +213,7 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
      private void handleFinishSetup(CommandSender sender) {
          if (!(sender instanceof Player)) {
-             sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
              return;
          }
          plugin.getSetupManager().finishSetup((Player) sender);
@@ -230,7 +221,7 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
      private void handleCancelSetup(CommandSender sender) {
          if (!(sender instanceof Player)) {
-             sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
              return;
          }
          plugin.getSetupManager().endSetup((Player) sender);
@@ -239,12 +230,12 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
     private void handleSetLobby(CommandSender sender) {
          if (!(sender instanceof Player)) {
-             sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
              return;
          }
          Player player = (Player) sender;
          if (!plugin.getSetupManager().isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          plugin.getSetupManager().setLobbySpawn(player);
@@ -252,12 +243,12 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
       private void handleSetSpectatorSpawn(CommandSender sender) {
          if (!(sender instanceof Player)) {
-             sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
              return;
          }
          Player player = (Player) sender;
          if (!plugin.getSetupManager().isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          plugin.getSetupManager().setSpectatorSpawn(player);
@@ -265,12 +256,12 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
      private void handleSetCenter(CommandSender sender) {
           if (!(sender instanceof Player)) {
-              sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+              sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
               return;
           }
           Player player = (Player) sender;
           if (!plugin.getSetupManager().isInSetupMode(player)) {
-              player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+              player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
               return;
           }
           plugin.getSetupManager().setCenter(player);
@@ -278,181 +269,196 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
 
      private void handleAddSpawn(CommandSender sender) {
          if (!(sender instanceof Player)) {
-             sender.sendMessage(plugin.getConfigManager().getMessage("player-only-command"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
              return;
          }
          Player player = (Player) sender;
           if (!plugin.getSetupManager().isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          plugin.getSetupManager().addSpawnPoint(player);
      }
 
+     private void handleSetChestTier(CommandSender sender, String[] args) {
+         if (!(sender instanceof Player)) {
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player-only-command"));
+             return;
+         }
+         if (args.length < 2) {
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw setchesttier <spawn|mid|center|auto>")));
+             return;
+         }
+         plugin.getSetupManager().setChestTier((Player) sender, args[1]);
+     }
+
      private void handleEnable(CommandSender sender, String[] args) {
          if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw enable <arena_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw enable <arena_name>")));
              return;
          }
          String arenaName = args[1];
          Arena arena = plugin.getArenaManager().getArena(arenaName);
          if (arena == null) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", arenaName)));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-not-found", Placeholder.of("arena", arenaName)));
              return;
          }
          if (!arena.isFullySetup()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-fully-setup", Map.of("arena", arenaName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-not-fully-setup", Placeholder.of("arena", arenaName)));
              return;
          }
           if (arena.isEnabled()) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-already-enabled", Map.of("arena", arenaName)));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-already-enabled", Placeholder.of("arena", arenaName)));
              return;
          }
 
          plugin.getArenaManager().enableArena(arenaName);
-         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-enabled", Map.of("arena", arenaName)));
+         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-enabled", Placeholder.of("arena", arenaName)));
      }
 
      private void handleDisable(CommandSender sender, String[] args) {
         if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw disable <arena_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw disable <arena_name>")));
              return;
          }
          String arenaName = args[1];
          Arena arena = plugin.getArenaManager().getArena(arenaName);
           if (arena == null) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", arenaName)));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-not-found", Placeholder.of("arena", arenaName)));
              return;
          }
          if (!arena.isEnabled()) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-already-disabled", Map.of("arena", arenaName)));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-already-disabled", Placeholder.of("arena", arenaName)));
              return;
          }
 
          plugin.getArenaManager().disableArena(arenaName);
-         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-disabled", Map.of("arena", arenaName)));
+         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-disabled", Placeholder.of("arena", arenaName)));
      }
 
     private void handleCreate(CommandSender sender, String[] args) {
          if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw create <arena_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw create <arena_name>")));
              return;
          }
          String arenaName = args[1];
          if (plugin.getArenaManager().getArena(arenaName) != null) {
-              sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-already-exists", Map.of("arena", arenaName)));
+              sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-already-exists", Placeholder.of("arena", arenaName)));
               return;
          }
          plugin.getArenaManager().createArena(arenaName);
-         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-created-for-setup", Map.of("arena", arenaName)));
+         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-created-for-setup", Placeholder.of("arena", arenaName)));
     }
 
     private void handleDelete(CommandSender sender, String[] args) {
          if (args.length < 2) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw delete <arena_name>")));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw delete <arena_name>")));
              return;
          }
          String arenaName = args[1];
           Arena arena = plugin.getArenaManager().getArena(arenaName);
           if (arena == null) {
-             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", arenaName)));
+             sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-not-found", Placeholder.of("arena", arenaName)));
              return;
          }
          // Check if the sender (if player) is currently setting up this arena
          if (sender instanceof Player) {
               Player player = (Player) sender;
               if (plugin.getSetupManager().getSession(player) != null && plugin.getSetupManager().getSession(player).getArenaName().equalsIgnoreCase(arenaName)) {
-                   sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-delete-while-setup"));
+                   sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "cannot-delete-while-setup"));
                    return;
               }
          }
 
 
          plugin.getArenaManager().deleteArena(arenaName);
-          sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-deleted", Map.of("arena", arenaName)));
+          sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-deleted", Placeholder.of("arena", arenaName)));
     }
 
 
     private void handleForceStart(CommandSender sender, String[] args) {
         if (args.length < 2) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw forcestart <arena_name>")));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw forcestart <arena_name>")));
             return;
         }
         String arenaName = args[1];
         Arena arena = plugin.getArenaManager().getArena(arenaName);
          if (arena == null) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", arenaName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-not-found", Placeholder.of("arena", arenaName)));
             return;
         }
         if (arena.getState() != GameState.WAITING && arena.getState() != GameState.STARTING) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-forcestart-state", Map.of("arena", arenaName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "cannot-forcestart-state", Placeholder.of("arena", arenaName)));
             return;
         }
         if (arena.getPlayers().size() < 1) { // Need at least one player to even start
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-forcestart-empty", Map.of("arena", arenaName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "cannot-forcestart-empty", Placeholder.of("arena", arenaName)));
             return;
         }
 
-        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("force-start", Map.of("arena", arenaName)));
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "force-start", Placeholder.of("arena", arenaName)));
         arena.startGame(true); // Pass true to indicate force start
     }
 
     private void handleForceStop(CommandSender sender, String[] args) {
           if (args.length < 2) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid-arguments", Map.of("usage", "/sw forcestop <arena_name>")));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid-arguments", Placeholder.of("usage", "/sw forcestop <arena_name>")));
             return;
         }
         String arenaName = args[1];
         Arena arena = plugin.getArenaManager().getArena(arenaName);
           if (arena == null) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", arenaName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "arena-not-found", Placeholder.of("arena", arenaName)));
             return;
         }
          if (arena.getState() == GameState.WAITING || arena.getState() == GameState.DISABLED || arena.getState() == GameState.REGENERATING) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-forcestop-state", Map.of("arena", arenaName)));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "cannot-forcestop-state", Placeholder.of("arena", arenaName)));
             return;
         }
 
-         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("force-stop", Map.of("arena", arenaName)));
+         sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "force-stop", Placeholder.of("arena", arenaName)));
         arena.stopGame(true); // Force stop the game
     }
 
     private void handleReload(CommandSender sender) {
-        sender.sendMessage(plugin.getConfigManager().getMessage("prefix") + plugin.getConfigManager().getMessage("reload-start"));
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "reload-start"));
         plugin.getConfigManager().reloadConfigs(); // This handles reloading everything
-        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("reload-complete"));
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "reload-complete"));
     }
 
 
     private void sendHelp(CommandSender sender) {
         // Use messages from config file
-        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("help-header"));
-        sender.sendMessage(plugin.getConfigManager().getMessage("help-join"));
-        sender.sendMessage(plugin.getConfigManager().getMessage("help-leave"));
-        sender.sendMessage(plugin.getConfigManager().getMessage("help-list"));
-        sender.sendMessage(plugin.getConfigManager().getMessage("help-kit-list"));
-        sender.sendMessage(plugin.getConfigManager().getMessage("help-kit-select"));
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "help-header"));
+        sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-join"));
+        sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-leave"));
+        sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-list"));
+        sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-menu"));
+        sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-kit-list"));
+        sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-kit-select"));
 
 
         if (sender.hasPermission("skymasters.admin")) {
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-admin-header"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-create"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-delete"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-setup"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-addspawn"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-setlobby"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-setspectatorspawn"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-setcenter"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-finishsetup"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-cancelsetup"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-enable"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-disable"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-forcestart"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-forcestop"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-reload"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-kit-create"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-kit-delete"));
-             sender.sendMessage(plugin.getConfigManager().getMessage("help-wand-chest-info")); // Added info about wand/chest
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-admin-header"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-create"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-delete"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-setup"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-addspawn"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-setlobby"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-setspectatorspawn"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-setcenter"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-setchesttier"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-finishsetup"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-cancelsetup"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-enable"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-disable"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-forcestart"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-forcestop"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-reload"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-kit-create"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-kit-delete"));
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-wand-chest-info")); // Added info about wand/chest
+             sender.sendMessage(plugin.getConfigManager().getMessage(sender, "help-join-sign"));
         }
     }
 
@@ -467,6 +473,7 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
             options.add("join");
             options.add("leave");
             options.add("list");
+            options.add("menu");
             if (sender.hasPermission("skymasters.admin")) {
                 options.add("setup");
                 options.add("finishsetup");
@@ -475,6 +482,7 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
                 options.add("setspectatorspawn");
                  options.add("setcenter");
                 options.add("addspawn");
+                options.add("setchesttier");
                 // Removed "addchest"/"removechest" from subcommands, wand handles it
                 options.add("enable");
                 options.add("disable");
@@ -525,6 +533,9 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
                          .collect(Collectors.toList());
                      options.addAll(enabledArenas);
                     break;
+                case "setchesttier":
+                     options.addAll(Arrays.asList("spawn", "mid", "center", "auto"));
+                     break;
                 // No suggestions for setlobby, addspawn etc. as they don't take arena name arg
             }
              StringUtil.copyPartialMatches(args[1], options, completions);
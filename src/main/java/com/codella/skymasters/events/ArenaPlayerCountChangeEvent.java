@@ -0,0 +1,35 @@
+package com.codella.skymasters.events;
+
+import com.codella.skymasters.game.Arena;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+// Called on the main thread after the number of players (not spectators) in an arena changed
+public class ArenaPlayerCountChangeEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Arena arena;
+    private final int playerCount;
+
+    public ArenaPlayerCountChangeEvent(Arena arena, int playerCount) {
+        this.arena = arena;
+        this.playerCount = playerCount;
+    }
+
+    public Arena getArena() {
+        return arena;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,42 @@
+package com.codella.skymasters.events;
+
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.GameState;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+// Called on the main thread after an arena moved to a new state. Not called for the initial state of a loaded arena.
+public class ArenaStateChangeEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Arena arena;
+    private final GameState previousState;
+    private final GameState newState;
+
+    public ArenaStateChangeEvent(Arena arena, GameState previousState, GameState newState) {
+        this.arena = arena;
+        this.previousState = previousState;
+        this.newState = newState;
+    }
+
+    public Arena getArena() {
+        return arena;
+    }
+
+    public GameState getPreviousState() {
+        return previousState;
+    }
+
+    public GameState getNewState() {
+        return newState;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -1,8 +1,17 @@
 package com.codella.skymasters.game;
 
 import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.events.ArenaPlayerCountChangeEvent;
+import com.codella.skymasters.events.ArenaStateChangeEvent;
 import com.codella.skymasters.listeners.PlayerListener; // For PlayerJoinArenaEvent
+import com.codella.skymasters.managers.ConfigManager;
+import com.codella.skymasters.managers.TimelineManager;
 import com.codella.skymasters.utils.LocationUtil;
+import com.codella.skymasters.utils.MessageBundle;
+import com.codella.skymasters.utils.Placeholder;
+import com.codella.skymasters.utils.TimingWheel;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.title.Title;
@@ -13,6 +22,7 @@ import org.bukkit.block.Chest;
 import org.bukkit.block.Container;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
@@ -22,12 +32,21 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
-public class Arena {
+// Also the Adventure audience of everyone in the arena (players and spectators), see audiences()
+public class Arena implements ForwardingAudience {
+
+    private static final Title START_TITLE = Title.title(
+            Component.text("GO!", NamedTextColor.GREEN, net.kyori.adventure.text.format.TextDecoration.BOLD),
+            Component.text("Fight!", NamedTextColor.YELLOW),
+            Title.Times.times(Duration.ofMillis(200), Duration.ofSeconds(2), Duration.ofMillis(500)));
+    private static final Title CLEAR_TITLE = Title.title(Component.empty(), Component.empty(),
+            Title.Times.times(Duration.ZERO, Duration.ofMillis(100), Duration.ZERO));
 
     private final SkyMasters plugin;
     private final String name;
@@ -35,10 +54,11 @@ public class Arena {
 
     // --- Core State & Players ---
     private GameState state = GameState.DISABLED; // Start disabled until enabled/loaded
-    private final List<UUID> players = new CopyOnWriteArrayList<>(); // Players currently playing/waiting
-    private final List<UUID> spectators = new CopyOnWriteArrayList<>(); // Players spectating
-    private final Map<UUID, Kit> selectedKits = new ConcurrentHashMap<>(); // Player UUID -> Selected Kit
-    private final Map<UUID, Long> invincibilityTimers = new ConcurrentHashMap<>(); // Player UUID -> Time invincibility ends
+    private GameState announcedState; // Last state reported in an ArenaStateChangeEvent (or the initial state)
+    private final ArenaRoster roster = new ArenaRoster(); // Players currently playing/waiting and spectators
+    private final ArenaFeed feed; // Per-tick batched chat broadcasts and sounds to the roster
+    private final ArenaSidebar sidebar; // Shared scoreboard of everyone in the arena
+    private final ArenaBossBar bossBar; // Shared timer bar of everyone in the arena
 
     // --- Configuration ---
     private Location lobbySpawn;
@@ -48,19 +68,47 @@ public class Arena {
     private Location corner1; // Arena bounds
     private Location corner2; // Arena bounds
     private Location center; // Arena center (optional feature use)
+    private ArenaBounds bounds; // Normalised bounds, rebuilt whenever a corner changes
     private World world; // Cached world for performance
+    private final Title drawTitle; // Only depends on the arena name
 
      // --- Regeneration Data ---
     private Map<Location, BlockData> originalBlockData; // For FULL regeneration
     private final Set<Location> playerPlacedBlocks = ConcurrentHashMap.newKeySet(); // For PARTIAL regeneration
+    private final Map<Long, BlockData> blockJournal = new HashMap<>(); // Block key -> state before its first change this match (PARTIAL)
+    private boolean journalChanges; // PARTIAL regeneration active for the current match
+
+    // --- Chest Loot ---
+    private final ChestLootBuffer lootBuffer; // Next refill contents, generated off the main thread
+    private final Map<Long, Integer> chestIndexByKey = new HashMap<>(); // Block key -> index in chestLocations
+    private byte[] chestTiers = new byte[0]; // ChestTier ordinal per chest, parallel to chestLocations
+    private Map<Long, ChestTier> chestTierOverrides = new HashMap<>(); // Block key -> tier set during setup
+    private final BitSet pendingChests = new BitSet(); // Lazy mode: chests whose refill has not been applied yet
+    private ItemStack[][] pendingContents; // Lazy mode: contents of the last refill round
+    private Inventory[] chestInventories; // Live chest inventories parallel to chestLocations, cached for one match
+    private final List<Chunk> ticketedChunks = new ArrayList<>(); // Chest and spawn chunks kept loaded for the match
+    private boolean spawnChunksPrefetched;
+    private ItemStack[][] refillContents; // Round being applied by the amortised refill task
+    private int refillCursor;
 
     // --- Game Task Scheduling ---
     private BukkitTask countdownTask = null;
-    private BukkitTask gameTimerTask = null;
-    private BukkitTask invincibilityTask = null;
+    private final List<TimingWheel.Timeout> timelineTimeouts = new ArrayList<>(); // Pending timeline events for this match
+    private TimingWheel.Timeout clockTimeout = null; // Next game clock second
     private BukkitTask regenerationTask = null; // Task handling the regeneration process
+    private BukkitTask refillTask = null; // Applies a refill a few chests per tick
     private int countdownSeconds;
     private int gameTimeRemaining;
+    private int gameTimeElapsed;
+    private List<String> timelineEntries = new ArrayList<>(); // Per-arena timeline override, empty = global timeline
+    private MatchTimeline timeline;
+    private int nextEventIndex; // First timeline event that has not fired yet
+    private int matchId; // Incremented per match, lets late teleport callbacks detect a match that already ended
+    private boolean landing; // IN_GAME but still waiting for start teleports, the clock hasn't started
+    private long invincibilityEndTick; // End of the current match's start invincibility
+    private String topKiller; // Name of the player with the most kills this match, null before the first kill
+    private int topKills;
+    private int announcedPlayerCount; // Last count sent in an ArenaPlayerCountChangeEvent
 
 
     public Arena(SkyMasters plugin, String name, boolean enabled, Location lobbySpawn, Location spectatorSpawn,
@@ -68,6 +116,13 @@ public class Arena {
                  Location corner1, Location corner2, Location center) {
         this.plugin = plugin;
         this.name = name;
+        this.feed = new ArenaFeed(plugin, this);
+        this.sidebar = new ArenaSidebar(plugin, this);
+        this.bossBar = new ArenaBossBar(plugin, this);
+        this.drawTitle = Title.title(
+                Component.text("Draw!", NamedTextColor.YELLOW),
+                Component.text("Arena: " + name, NamedTextColor.GRAY), // Add subtitle with arena name
+                Title.Times.times(Duration.ofMillis(500), Duration.ofSeconds(4), Duration.ofSeconds(1)));
         this.enabled = enabled;
         this.lobbySpawn = lobbySpawn;
         this.spectatorSpawn = spectatorSpawn;
@@ -75,7 +130,11 @@ public class Arena {
         this.chestLocations = chestLocations != null ? new ArrayList<>(chestLocations) : new ArrayList<>();
         this.corner1 = corner1;
         this.corner2 = corner2;
+        this.bounds = ArenaBounds.of(corner1, corner2);
         this.center = center;
+        this.lootBuffer = new ChestLootBuffer(plugin, LootTable.createDefaults());
+        rebuildChestIndex();
+        classifyChests();
 
         // Initial state based on enabled status and config presence
          if (enabled && isFullySetup()) {
@@ -88,6 +147,7 @@ public class Arena {
          } else {
              this.state = GameState.DISABLED; // Stay disabled if not enabled or not fully setup
          }
+         this.announcedState = state;
 
 
          if (lobbySpawn != null) {
@@ -103,7 +163,7 @@ public class Arena {
 
     public boolean addPlayer(Player player) {
          if (!enabled || state == GameState.DISABLED || state == GameState.REGENERATING) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-ready", Map.of("arena", name)));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-not-ready", Placeholder.of("arena", name)));
              return false;
          }
         if (state != GameState.WAITING && state != GameState.STARTING) {
@@ -111,23 +171,28 @@ public class Arena {
              if (state == GameState.IN_GAME && plugin.getConfigManager().isSpectatorsAllowed()) {
                 return addSpectator(player);
              }
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-in-game", Map.of("arena", name)));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-in-game", Placeholder.of("arena", name)));
             return false;
         }
-        if (players.size() >= plugin.getConfigManager().getMaxPlayersPerArena()) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-full", Map.of("arena", name)));
+        if (roster.getPlayerCount() >= plugin.getConfigManager().getMaxPlayersPerArena()) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-full", Placeholder.of("arena", name)));
             return false;
         }
 
-        players.add(player.getUniqueId());
-        player.teleport(lobbySpawn);
+        plugin.getPlayerStateManager().capture(player); // Before anything is reset
+        roster.addPlayer(player);
+        plugin.getArenaManager().trackPlayer(player, this, ArenaRoster.Role.PLAYER);
+        plugin.getTeleportManager().teleport(player, lobbySpawn);
         resetPlayerState(player, GameMode.ADVENTURE); // Use Adventure in lobby
+        sidebar.show(player);
+        bossBar.show(player);
+        rosterChanged();
 
          // Broadcast join message
-        String current = String.valueOf(players.size());
-        String max = String.valueOf(plugin.getConfigManager().getMaxPlayersPerArena());
-        broadcastMessage("join-arena-broadcast", Map.of("player", player.getName(), "current", current, "max", max));
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("join-arena", Map.of("arena", name, "current", current, "max", max)));
+        int current = roster.getPlayerCount();
+        int max = plugin.getConfigManager().getMaxPlayersPerArena();
+        broadcastMessage("join-arena-broadcast", Placeholder.of("player", player.getName()), Placeholder.of("current", current), Placeholder.of("max", max));
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "join-arena", Placeholder.of("arena", name), Placeholder.of("current", current), Placeholder.of("max", max)));
 
 
         // Call custom event (if implemented)
@@ -139,34 +204,32 @@ public class Arena {
     }
 
     public void removePlayer(Player player) {
-         boolean wasPlayer = players.remove(player.getUniqueId());
-         boolean wasSpectator = spectators.remove(player.getUniqueId());
-         invincibilityTimers.remove(player.getUniqueId()); // Remove invincibility timer if they leave
-         Kit selected = selectedKits.remove(player.getUniqueId()); // Remove kit selection
+         ArenaRoster.Role role = roster.remove(player);
+         boolean wasPlayer = role == ArenaRoster.Role.PLAYER;
+         boolean wasSpectator = role == ArenaRoster.Role.SPECTATOR;
 
 
          // Only reset state and teleport if they were actually removed (not double-called)
          if (wasPlayer || wasSpectator) {
-              resetPlayerState(player, Bukkit.getDefaultGameMode()); // Reset to server default
-             // Teleport player out - needs a global lobby location or previous location management
-              // Simple approach: Teleport to world spawn? Needs config. For now, just reset state.
-              // player.teleport(Bukkit.getWorlds().get(0).getSpawnLocation()); // Example: teleport to main world spawn
+              plugin.getArenaManager().forgetPlayer(player);
+              releasePlayer(player);
+              rosterChanged();
 
              // Send leave message only if they were an active player during game/lobby
              if (wasPlayer && (state == GameState.WAITING || state == GameState.STARTING || state == GameState.IN_GAME)) {
-                 String current = String.valueOf(players.size());
-                 String max = String.valueOf(plugin.getConfigManager().getMaxPlayersPerArena());
-                 broadcastMessage("leave-arena-broadcast", Map.of("player", player.getName(), "current", current, "max", max));
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("leave-arena", Map.of("arena", name))); // Notify the player themselves
+                 int current = roster.getPlayerCount();
+                 int max = plugin.getConfigManager().getMaxPlayersPerArena();
+                 broadcastMessage("leave-arena-broadcast", Placeholder.of("player", player.getName()), Placeholder.of("current", current), Placeholder.of("max", max));
+                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "leave-arena", Placeholder.of("arena", name))); // Notify the player themselves
              } else if (wasSpectator) {
-                  player.sendMessage(plugin.getConfigManager().getPrefixedMessage("stop-spectating", Map.of("arena", name)));
+                  player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "stop-spectating", Placeholder.of("arena", name)));
              }
          }
 
 
          // If a player leaves during countdown/game, check conditions
          if (state == GameState.STARTING) {
-            if (players.size() < plugin.getConfigManager().getMinPlayersToStart()) {
+            if (roster.getPlayerCount() < plugin.getConfigManager().getMinPlayersToStart()) {
                 cancelCountdown("countdown-cancelled");
             }
          } else if (state == GameState.IN_GAME) {
@@ -176,17 +239,22 @@ public class Arena {
 
     public boolean addSpectator(Player player) {
         if (!plugin.getConfigManager().isSpectatorsAllowed() || state == GameState.DISABLED || state == GameState.REGENERATING) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-spectate-disabled", Map.of("arena", name)));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-spectate-disabled", Placeholder.of("arena", name)));
             return false;
         }
          if (isPlayer(player)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-spectate-playing"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-spectate-playing"));
             return false;
          }
 
-         spectators.add(player.getUniqueId());
+         plugin.getPlayerStateManager().capture(player); // No-op for eliminated players, they still have their join snapshot
+         roster.addSpectator(player);
+         plugin.getArenaManager().trackPlayer(player, this, ArenaRoster.Role.SPECTATOR); // Also covers spectators joining via command
          resetPlayerState(player, GameMode.SPECTATOR);
-         player.teleport(spectatorSpawn != null ? spectatorSpawn : (lobbySpawn != null ? lobbySpawn : player.getWorld().getSpawnLocation())); // Best available spawn
+         sidebar.show(player);
+         bossBar.show(player);
+         plugin.getTeleportManager().cancel(player); // A start teleport still queued would put them back on a spawn
+         plugin.getTeleportManager().teleport(player, spectatorSpawn != null ? spectatorSpawn : (lobbySpawn != null ? lobbySpawn : player.getWorld().getSpawnLocation())); // Best available spawn
 
         // Apply spectator settings
         float specSpeed = (float) plugin.getConfigManager().getSpectatorSpeed();
@@ -198,66 +266,43 @@ public class Arena {
             player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, Integer.MAX_VALUE, 0, false, false, false));
         }
 
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("now-spectating"));
-        // Hide spectator from living players
-        hidePlayerFromOthers(player);
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "now-spectating"));
+        // Hiding from living players is handled by the VisibilityManager when the spectator is tracked
         return true;
     }
 
     public void removeSpectator(Player player, boolean force) {
-         boolean removed = spectators.remove(player.getUniqueId());
+         boolean removed = roster.isSpectator(player) && roster.remove(player) != null;
          if(removed || force) { // Force removal even if not in list (e.g., on disable)
-            resetPlayerState(player, Bukkit.getDefaultGameMode());
-            // player.teleport(Bukkit.getWorlds().get(0).getSpawnLocation()); // Teleport out
-            // Show player again if they were hidden
-            showPlayerToOthers(player);
+            plugin.getArenaManager().forgetPlayer(player);
+            releasePlayer(player);
+            // Shown again by the VisibilityManager when forgotten above
              if (player.hasPotionEffect(PotionEffectType.NIGHT_VISION)) {
                  player.removePotionEffect(PotionEffectType.NIGHT_VISION);
              }
               // Only send message if they were actually removed (not just forced)
              if (removed) {
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("stop-spectating", Map.of("arena", name)));
+                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "stop-spectating", Placeholder.of("arena", name)));
              }
          }
     }
 
-     private void hidePlayerFromOthers(Player spectator) {
-        getOnlinePlayers().forEach(other -> {
-            if (!other.equals(spectator)) {
-                 other.hidePlayer(plugin, spectator);
-            }
-        });
-        getOnlineSpectators().forEach(otherSpec -> {
-            if (!otherSpec.equals(spectator)) {
-                // Allow spectators to see each other? Or hide them too? Let them see each other for now.
-                // spectator.hidePlayer(plugin, otherSpec);
-                // otherSpec.hidePlayer(plugin, spectator);
-            }
-        });
-    }
-
-    private void showPlayerToOthers(Player spectator) {
-         plugin.getServer().getOnlinePlayers().forEach(onlinePlayer -> {
-              onlinePlayer.showPlayer(plugin, spectator);
-              // Don't force show spectator to other players? Let them see normally.
-              // spectator.showPlayer(plugin, onlinePlayer);
-         });
-    }
-
-
     // --- Game Logic ---
 
     private void checkStartCountdown() {
-        if (state == GameState.WAITING && players.size() >= plugin.getConfigManager().getMinPlayersToStart()) {
+        if (state == GameState.WAITING && roster.getPlayerCount() >= plugin.getConfigManager().getMinPlayersToStart()) {
             startCountdown();
         }
     }
 
     private void startCountdown() {
         if (state != GameState.WAITING) return; // Only start from waiting
-        state = GameState.STARTING;
+        setState(GameState.STARTING);
         countdownSeconds = plugin.getConfigManager().getLobbyCountdownSeconds();
         broadcastMessage("countdown-starting");
+        prepareMatchLoot(); // Generate the first refill in the background while the countdown runs
+        prefetchChestChunks(); // Load chest chunks asynchronously before the first refill
+        prefetchSpawnChunks(); // And the spawn chunks, so the start teleports land in loaded chunks
 
         countdownTask = new BukkitRunnable() {
             @Override
@@ -273,18 +318,10 @@ public class Arena {
                     return;
                 }
 
-                 // Send title/action bar countdown messages
-                 String timeStr = String.valueOf(countdownSeconds);
-                 // Use action bar message key
-                 updateActionBars(); // Update action bars, which will show the countdown message
-
+                 // Countdown titles; the action bar follows countdownSeconds through the HudManager
                  if (plugin.getConfigManager().showCountdownTitle() && (countdownSeconds <= 5 || countdownSeconds % 5 == 0)) { // Show title at 5, 4, 3, 2, 1 and every 5 secs before
-                      Title title = Title.title(
-                             Component.text(countdownSeconds, NamedTextColor.AQUA), // Title text
-                             Component.empty(), // Subtitle text (empty)
-                             Title.Times.times(Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(500)) // Fade in, stay, fade out
-                      );
-                      sendTitleToAll(title);
+                      Title title = plugin.getConfigManager().getCountdownTitle(countdownSeconds); // Pre-built at load
+                      if (title != null) sendTitleToAll(title);
                  }
 
                 // Play sound effect (optional)
@@ -296,6 +333,8 @@ public class Arena {
 
 
                 countdownSeconds--;
+                sidebar.update();
+                bossBar.update();
             }
         }.runTaskTimer(plugin, 0L, 20L); // Run immediately, then every second (20 ticks)
     }
@@ -305,11 +344,10 @@ public class Arena {
             countdownTask.cancel();
         }
         countdownTask = null;
-        state = GameState.WAITING;
+        setState(GameState.WAITING);
         broadcastMessage(reasonMessageKey);
          // Clear titles if countdown cancelled abruptly
-         sendTitleToAll(Title.title(Component.empty(), Component.empty(), Title.Times.times(Duration.ZERO, Duration.ofMillis(100), Duration.ZERO)));
-         updateActionBars(); // Update action bars to show waiting message
+         sendTitleToAll(CLEAR_TITLE);
     }
 
     public void startGame(boolean forced) {
@@ -318,160 +356,237 @@ public class Arena {
          countdownTask = null;
 
         // Double check player count if not forced (could dip below min during final tick)
-        if (!forced && players.size() < plugin.getConfigManager().getMinPlayersToStart()) {
+        if (!forced && roster.getPlayerCount() < plugin.getConfigManager().getMinPlayersToStart()) {
             cancelCountdown("countdown-cancelled"); // Not enough players suddenly
             return;
         }
-        if (players.size() < 1) {
+        if (roster.getPlayerCount() < 1) {
             plugin.getLogger().warning("Attempted to start arena '" + name + "' with 0 players. Aborting.");
             resetArena(false); // Reset to waiting state without regen
             return;
         }
 
 
-        state = GameState.IN_GAME;
+        if (!lootBuffer.isPrepared()) {
+            prepareMatchLoot(); // Forced start without countdown
+        }
+        prefetchChestChunks(); // No-op if already done during the countdown
+        prefetchSpawnChunks();
+
+        setState(GameState.IN_GAME);
+        landing = true;
+        int match = ++matchId;
+        topKiller = null;
+        topKills = 0;
         broadcastMessage("game-starting");
-         if (plugin.getConfigManager().showStartTitle()) {
-             Title startTitle = Title.title(
-                     Component.text("GO!", NamedTextColor.GREEN, net.kyori.adventure.text.format.TextDecoration.BOLD),
-                     Component.text("Fight!", NamedTextColor.YELLOW),
-                      Title.Times.times(Duration.ofMillis(200), Duration.ofSeconds(2), Duration.ofMillis(500))
-             );
-             sendTitleToAll(startTitle);
-         }
-         playSoundToAll(Sound.ENTITY_PLAYER_LEVELUP, 1f, 1.2f);
-
+         // Clear placed block tracking for partial regen at start
+         playerPlacedBlocks.clear();
+         blockJournal.clear();
+         journalChanges = "PARTIAL".equals(plugin.getConfigManager().getRegenerationMode());
+         // Refill chests initially? Assume chests are pre-filled by map makers or setup process. Refill now just in case.
+         refillChests();
 
-        // --- Teleport players to spawns and prepare them ---
+        // --- Teleport players to spawns in per-tick batches, the match begins once everyone has landed ---
         List<Location> availableSpawns = new ArrayList<>(playerSpawns);
         Collections.shuffle(availableSpawns); // Randomize spawn order
         int spawnIndex = 0;
 
-        Iterator<UUID> playerIterator = players.iterator(); // Use iterator for safe access on concurrent list
-         while (playerIterator.hasNext()) {
-            UUID uuid = playerIterator.next();
-            Player p = Bukkit.getPlayer(uuid);
-            if (p == null || !p.isOnline()) {
-                // Player logged off just before start, remove them silently
-                 players.remove(uuid);
-                 selectedKits.remove(uuid); // Also remove kit selection if they logged off
-                continue; // Skip to next player
-            }
+        List<CompletableFuture<Void>> landings = new ArrayList<>();
+        for (Player p : roster.getPlayers()) { // Players who logged off were already removed on quit
+            ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(p);
+            if (session != null) session.setInvincibleUntilTick(Long.MAX_VALUE); // Protected until the clock starts
 
+            Location spawn;
              if (spawnIndex >= availableSpawns.size()) {
-                 plugin.getLogger().warning("Not enough spawn points in arena '" + name + "' for " + players.size() + " players! Using lobby spawn as fallback.");
-                 p.teleport(lobbySpawn); // Fallback, though ideally this shouldn't happen
+                 plugin.getLogger().warning("Not enough spawn points in arena '" + name + "' for " + roster.getPlayerCount() + " players! Using lobby spawn as fallback.");
+                 spawn = lobbySpawn; // Fallback, though ideally this shouldn't happen
              } else {
-                 p.teleport(availableSpawns.get(spawnIndex));
+                 spawn = availableSpawns.get(spawnIndex);
                  spawnIndex++;
              }
+            landings.add(land(p, spawn, match, true));
+        }
 
-             // Reset state, apply kit, start invincibility
-             resetPlayerState(p, GameMode.SURVIVAL); // Set to survival for game
-             p.setHealth(p.getMaxHealth());
-             p.setFoodLevel(20);
-             p.setExp(0);
-             p.setLevel(0);
-
-            // Apply selected kit
-            Kit kit = selectedKits.getOrDefault(uuid, null);
-            if (kit != null) {
-                plugin.getKitManager().giveKit(p, kit);
-                 // Send message here or rely on selection message? Maybe confirm kit received?
-                 // p.sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-received", Map.of("kit", kit.getName())));
-            } else {
-                 // Give default kit if no selection and auto-equip is off but maybe wanted as fallback?
-                 // Or just leave them kitless. Current logic: leave kitless if none selected.
+        CompletableFuture.allOf(landings.toArray(new CompletableFuture[0])).thenRun(() -> beginMatch(match));
+        // Don't let one slow chunk hold everyone in their cage, cancelled by startGameTimers if everyone landed first
+        long landingTimeout = Math.max(1, plugin.getConfigManager().getStartLandingTimeoutSeconds()) * 20L;
+        timelineTimeouts.add(plugin.getTimelineManager().schedule(landingTimeout, () -> beginMatch(match)));
+    }
+
+    // Teleports a player to their spawn and prepares them there. A failed teleport is retried once, after that the player
+    // is still in the lobby and can't take part, so they leave the match instead of getting a kit where they stand.
+    private CompletableFuture<Void> land(Player player, Location spawn, int match, boolean retry) {
+        return plugin.getTeleportManager().teleport(player, spawn).thenCompose(landed -> {
+            if (landed) {
+                preparePlayer(player, match);
+            } else if (state == GameState.IN_GAME && match == matchId && roster.isPlayer(player) && player.isOnline()) {
+                if (retry) return land(player, spawn, match, false);
+                plugin.getLogger().warning("Could not teleport " + player.getName() + " to their spawn in arena '" + name + "', removing them from the match.");
+                removePlayer(player);
             }
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    // Reset state and apply the selected kit once the player has landed on their spawn
+    private void preparePlayer(Player player, int match) {
+        if (state != GameState.IN_GAME || match != matchId || !roster.isPlayer(player)) return;
+        resetPlayerState(player, GameMode.SURVIVAL); // Set to survival for game
 
-             // Apply Invincibility
-             startInvincibility(p);
+        ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(player);
+        Kit kit = session != null ? session.getSelectedKit() : null;
+        if (kit != null) {
+            plugin.getKitManager().giveKit(player, kit);
+        }
+        // Players without a selected kit start kitless
+    }
+
+    // Runs once every start teleport has completed (or the landing timeout passed): starts the clock and invincibility
+    private void beginMatch(int match) {
+        if (state != GameState.IN_GAME || match != matchId || !landing) return;
+        landing = false;
+
+         if (plugin.getConfigManager().showStartTitle()) {
+             sendTitleToAll(START_TITLE);
+         }
+         playSoundToAll(Sound.ENTITY_PLAYER_LEVELUP, 1f, 1.2f);
+
+        long invincibleUntil = Bukkit.getCurrentTick() + plugin.getConfigManager().getStartInvincibilitySeconds() * 20L;
+        for (Player p : roster.getPlayers()) {
+            ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(p);
+            if (session == null) continue;
+            session.setInvincibleUntilTick(0); // Drop the landing protection
+            startInvincibility(p, session, invincibleUntil);
         }
 
-         // Refill chests initially? Assume chests are pre-filled by map makers or setup process. Refill now just in case.
-         refillChests();
          // Start game timer and chest refill timers
          startGameTimers();
-         // Clear placed block tracking for partial regen at start
-         playerPlacedBlocks.clear();
+         scheduleInvincibilityEnd(invincibleUntil);
+         invincibilityEndTick = invincibleUntil;
+         sidebar.update(); // Clock and timeline are known now
+         bossBar.update();
     }
 
-    private void startInvincibility(Player player) {
+    private void startInvincibility(Player player, ArenaPlayer session, long untilTick) {
         int durationSeconds = plugin.getConfigManager().getStartInvincibilitySeconds();
         if (durationSeconds <= 0) return;
 
-        long endTime = System.currentTimeMillis() + (durationSeconds * 1000L);
-        invincibilityTimers.put(player.getUniqueId(), endTime);
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("invincibility-start", Map.of("time", String.valueOf(durationSeconds))));
-
-        // Schedule a task to remove invincibility later
-        if (invincibilityTask == null || invincibilityTask.isCancelled()) { // Only start one task
-             invincibilityTask = new BukkitRunnable() {
-                 @Override
-                 public void run() {
-                      if(state != GameState.IN_GAME && state != GameState.ENDING) { cancel(); invincibilityTask = null; return;} // Stop if game ended/ending
-
-                      long now = System.currentTimeMillis();
-                     boolean anyLeft = false;
-                     // Use iterator for safe removal
-                     Iterator<Map.Entry<UUID, Long>> iterator = invincibilityTimers.entrySet().iterator();
-                     while(iterator.hasNext()){
-                         Map.Entry<UUID, Long> entry = iterator.next();
-                          if (now >= entry.getValue()) {
-                             Player p = Bukkit.getPlayer(entry.getKey());
-                             if (p != null && p.isOnline()) {
-                                 p.sendMessage(plugin.getConfigManager().getPrefixedMessage("invincibility-end"));
-                             }
-                             iterator.remove(); // Remove expired timer using iterator
-                          } else {
-                             anyLeft = true; // Mark if any timers are still active
-                          }
-                      }
+        session.setInvincibleUntilTick(untilTick);
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "invincibility-start", Placeholder.of("time", durationSeconds)));
+    }
 
-                      if(!anyLeft){ // No more timers left, cancel this task
-                         cancel();
-                         invincibilityTask = null;
-                      }
-                 }
-             }.runTaskTimer(plugin, 20L, 20L); // Check every second
-         }
+    // Invincibility itself is a deadline check; this only announces its end, once for everyone spawned together
+    private void scheduleInvincibilityEnd(long untilTick) {
+        long delay = untilTick - Bukkit.getCurrentTick();
+        if (delay <= 0) return;
+        timelineTimeouts.add(plugin.getTimelineManager().schedule(delay, () -> {
+            if (state != GameState.IN_GAME) return;
+            Map<MessageBundle, String> rendered = new IdentityHashMap<>(2); // Once per locale
+            for (Player p : roster.getPlayers()) {
+                p.sendMessage(rendered.computeIfAbsent(plugin.getConfigManager().getBundle(p.locale()),
+                        bundle -> bundle.getPrefixedMessage("invincibility-end")));
+            }
+        }));
     }
 
      public boolean hasInvincibility(Player player) {
-        Long endTime = invincibilityTimers.get(player.getUniqueId());
-        return endTime != null && System.currentTimeMillis() < endTime;
+        ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(player);
+        return session != null && session.getArena() == this && session.isInvincible(Bukkit.getCurrentTick());
      }
 
     private void startGameTimers() {
-        // --- Game End Timer ---
+        TimelineManager timelineManager = plugin.getTimelineManager();
+        cancelTimeline();
+        gameTimeElapsed = 0;
+
+        // --- Timeline events (chest refills, time announcements, deathmatch) ---
+        timeline = timelineEntries.isEmpty()
+                ? MatchTimeline.fromConfig(plugin.getConfigManager(), plugin.getLogger())
+                : MatchTimeline.parse(timelineEntries, plugin.getLogger());
+        nextEventIndex = 0;
+        for (MatchTimeline.Event event : timeline.getEvents()) {
+            timelineTimeouts.add(timelineManager.schedule(event.getSecond() * 20L, () -> fireTimelineEvent(event)));
+        }
+
+        // --- Game clock ---
          gameTimeRemaining = plugin.getConfigManager().getGameTimeLimitSeconds();
-         if (gameTimeRemaining > 0) {
-            gameTimerTask = new BukkitRunnable() {
-                @Override
-                public void run() {
-                     if (state != GameState.IN_GAME) { cancel(); gameTimerTask = null; return; }
-
-                     if (gameTimeRemaining <= 0) {
-                         // Time limit reached - end in a draw
-                         endGame(null); // Pass null for winner = draw
-                         cancel();
-                         gameTimerTask = null;
-                         return;
-                     }
+         scheduleClockTick();
+    }
 
-                     // Update action bar?
-                     updateActionBars();
+    private void scheduleClockTick() {
+        clockTimeout = plugin.getTimelineManager().schedule(20L, () -> {
+            if (state != GameState.IN_GAME) return;
+            gameTimeElapsed++;
+            if (gameTimeRemaining > 0) {
+                gameTimeRemaining--;
+                if (gameTimeRemaining <= 0) {
+                    // Time limit reached - end in a draw
+                    endGame(null); // Pass null for winner = draw
+                    return;
+                }
+            }
+            sidebar.update();
+            bossBar.update();
+            scheduleClockTick();
+        });
+    }
 
-                     // Announce time remaining at intervals? (e.g., 5 min, 1 min, 30s)
-                     // TODO: Implement time announcements if desired
+    private void fireTimelineEvent(MatchTimeline.Event event) {
+        if (state != GameState.IN_GAME) return;
+        nextEventIndex = Math.max(nextEventIndex, timeline.getEvents().indexOf(event) + 1);
+        sidebar.update();
+        bossBar.update();
 
-                     gameTimeRemaining--;
+        switch (event.getType()) {
+            case REFILL:
+                refillChests();
+                break;
+            case ANNOUNCE:
+                if (gameTimeRemaining > 0) {
+                    broadcastMessage("time-remaining", Placeholder.of("time", formatTime(gameTimeRemaining)));
+                    playSoundToAll(Sound.BLOCK_NOTE_BLOCK_HAT, 1f, 1f);
                 }
-            }.runTaskTimer(plugin, 0L, 20L);
-         }
+                break;
+            case DEATHMATCH:
+                startDeathmatch();
+                break;
+        }
+    }
+
+    private void startDeathmatch() {
+        broadcastMessage("deathmatch-start");
+        playSoundToAll(Sound.ENTITY_ENDER_DRAGON_GROWL, 0.8f, 1f);
+        if (center == null) return; // Nowhere to gather players, just announce it
+        // Evenly spaced on a ring around the center in roster order, facing inwards, so nobody lands in someone else
+        List<Player> players = new ArrayList<>(getOnlinePlayers());
+        double radius = players.size() > 1 ? plugin.getConfigManager().getDeathmatchSpreadRadius() : 0.0;
+        for (int i = 0; i < players.size(); i++) {
+            double angle = 2 * Math.PI * i / players.size();
+            Location spot = center.clone().add(Math.cos(angle) * radius, 0, Math.sin(angle) * radius);
+            if (radius > 0) spot.setDirection(center.toVector().subtract(spot.toVector()));
+            plugin.getTeleportManager().teleport(players.get(i), spot);
+        }
+    }
+
+    private void cancelTimeline() {
+        for (TimingWheel.Timeout timeout : timelineTimeouts) {
+            timeout.cancel();
+        }
+        timelineTimeouts.clear();
+        if (clockTimeout != null) clockTimeout.cancel();
+        clockTimeout = null;
+    }
 
-        // --- Chest Refill Timers ---
-        // TODO: Implement chest refill logic and scheduling based on config times
+    // Next refill or deathmatch still to come, or null if none
+    public MatchTimeline.Event getNextEvent() {
+        if (timeline == null || state != GameState.IN_GAME) return null;
+        List<MatchTimeline.Event> events = timeline.getEvents();
+        for (int i = nextEventIndex; i < events.size(); i++) {
+            if (events.get(i).getType() != MatchTimeline.EventType.ANNOUNCE) {
+                return events.get(i);
+            }
+        }
+        return null;
     }
 
 
@@ -479,21 +594,41 @@ public class Arena {
          if (state != GameState.IN_GAME) return;
 
          // Remove player from active list
-         players.remove(deceased.getUniqueId());
-         invincibilityTimers.remove(deceased.getUniqueId()); // Clear invincibility on death
-         selectedKits.remove(deceased.getUniqueId()); // Clear kit selection
+         roster.remove(deceased);
+         ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(deceased);
+         // getKiller misses knock-into-void, lava and fall deaths, credit the last player who hit them within the window
+         String eliminationKey = "player-eliminated-by-player";
+         if (killer == null || killer.equals(deceased) || !roster.contains(killer)) {
+             killer = null;
+             int hit = findCreditedHit(session);
+             if (hit >= 0) {
+                 killer = findMember(session.getDamagerId(hit));
+                 eliminationKey = session.getDamageCause(hit) == EntityDamageEvent.DamageCause.PROJECTILE
+                         ? "player-eliminated-shot-by-player" : "player-eliminated-knocked-by-player";
+             }
+         }
+         if (session != null) {
+             session.setInvincibleUntilTick(0); // Clear invincibility on death
+             session.setSelectedKit(null); // Clear kit selection
+             session.clearDamage();
+         }
+         ArenaPlayer killerSession = killer != null ? plugin.getArenaManager().getArenaPlayer(killer) : null;
+         if (killerSession != null && killerSession.getArena() == this && !killer.equals(deceased)) {
+             killerSession.addKill();
+             if (killerSession.getKills() > topKills) {
+                 topKills = killerSession.getKills();
+                 topKiller = killer.getName();
+             }
+         }
+         rosterChanged();
 
 
          // Send death message
-         Map<String, String> placeholders = new HashMap<>();
-         placeholders.put("player", deceased.getName()); // For generic eliminated message
+         // Queued on the kill feed, eliminations in the same tick are announced as one line
          if (killer != null && !killer.equals(deceased)) { // Check killer is not self
-            placeholders.put("victim", deceased.getName());
-             placeholders.put("killer", killer.getName());
-             broadcastMessage("player-eliminated-by-player", placeholders);
-             // Add kill score/stats if implementing stats system
+             feed.elimination(eliminationKey, deceased.getName(), Placeholder.of("victim", deceased.getName()), Placeholder.of("killer", killer.getName()));
          } else {
-             broadcastMessage("player-eliminated", placeholders);
+             feed.elimination("player-eliminated", deceased.getName(), Placeholder.of("player", deceased.getName()));
          }
 
         // Make player a spectator if enabled
@@ -509,22 +644,49 @@ public class Arena {
             }.runTaskLater(plugin, 2L); // 2 ticks delay
 
         } else {
-             // If spectators disabled, remove them fully from arena context (will be teleported by removePlayer)
-             removePlayer(deceased);
+             // If spectators disabled, remove them fully from arena context.
+             // They are already off the players list, so removePlayer would skip them; release them here
+             // once the forced respawn went through, or the death would clear the restored inventory.
+             plugin.getArenaManager().forgetPlayer(deceased);
+             new BukkitRunnable() {
+                 @Override
+                 public void run() {
+                     if (deceased.isOnline() && !plugin.getArenaManager().isParticipant(deceased)) {
+                         releasePlayer(deceased);
+                     }
+                 }
+             }.runTaskLater(plugin, 2L);
         }
 
         // Check win condition
         checkWinCondition();
     }
 
+    // Newest hit within kill-credit-window-seconds by a player still in the arena (alive or spectating), or -1.
+    // Damagers who left are skipped, an older hit from someone still here gets the credit instead.
+    private int findCreditedHit(ArenaPlayer session) {
+        if (session == null) return -1;
+        long since = Bukkit.getCurrentTick() - plugin.getConfigManager().getKillCreditWindowSeconds() * 20L;
+        return session.findRecentDamage(since, entityId -> findMember(entityId) != null);
+    }
+
+    private Player findMember(int entityId) {
+        for (Player p : roster.getPlayers()) {
+            if (p.getEntityId() == entityId) return p;
+        }
+        for (Player p : roster.getSpectators()) {
+            if (p.getEntityId() == entityId) return p;
+        }
+        return null; // Left the arena since
+    }
+
     private void checkWinCondition() {
         if (state != GameState.IN_GAME) return;
 
-        if (players.size() <= 1) {
+        if (roster.getPlayerCount() <= 1) {
              Player winner = null;
-             if (players.size() == 1) {
-                 UUID winnerUUID = players.get(0); // The last one remaining
-                 winner = Bukkit.getPlayer(winnerUUID);
+             if (roster.getPlayerCount() == 1) {
+                 winner = roster.getPlayers().get(0); // The last one remaining
              }
              endGame(winner); // End the game, pass winner (or null if somehow 0 players left)
          }
@@ -532,17 +694,16 @@ public class Arena {
 
      private void endGame(Player winner) {
          if (state != GameState.IN_GAME && state != GameState.STARTING) return; // Prevent double execution, allow ending from starting state if forced
-         state = GameState.ENDING;
+         setState(GameState.ENDING);
 
         // Cancel game tasks
         if (countdownTask != null) countdownTask.cancel(); countdownTask = null; // Also cancel countdown if somehow ending from starting
-        if (gameTimerTask != null) gameTimerTask.cancel(); gameTimerTask = null;
-        if (invincibilityTask != null) invincibilityTask.cancel(); invincibilityTask = null;
-        // Cancel any other game-related tasks (like chest refills)
+        cancelTimeline();
+        lootBuffer.clear(); // The next match draws a new seed, forced starts included
 
          // Announce Winner / Draw
          if (winner != null && winner.isOnline()) {
-             broadcastMessage("game-won", Map.of("player", winner.getName(), "arena", name));
+             broadcastMessage("game-won", Placeholder.of("player", winner.getName()), Placeholder.of("arena", name));
              if (plugin.getConfigManager().showWinnerTitle()) {
                  Title winTitle = Title.title(
                          Component.text(winner.getName() + " Wins!", NamedTextColor.GOLD, net.kyori.adventure.text.format.TextDecoration.BOLD),
@@ -554,18 +715,13 @@ public class Arena {
              }
              // Keep winner in the game slightly longer? Or teleport immediately? Teleport with delay.
          } else {
-              broadcastMessage("game-draw", Map.of("arena", name)); // Add arena placeholder
+              broadcastMessage("game-draw", Placeholder.of("arena", name)); // Add arena placeholder
               if (plugin.getConfigManager().showWinnerTitle()) { // Show draw title
-                  Title drawTitle = Title.title(
-                         Component.text("Draw!", NamedTextColor.YELLOW),
-                          Component.text("Arena: " + name, NamedTextColor.GRAY), // Add subtitle with arena name
-                         Title.Times.times(Duration.ofMillis(500), Duration.ofSeconds(4), Duration.ofSeconds(1))
-                 );
                  sendTitleToAll(drawTitle);
               }
          }
         // Clear action bars
-         getOnlinePlayersAndSpectators().forEach(p -> p.sendActionBar(Component.empty()));
+         sendActionBar(Component.empty());
 
 
         // Delay before reset/teleporting players out
@@ -587,12 +743,13 @@ public class Arena {
 
          // Cancel tasks
          if (countdownTask != null) countdownTask.cancel(); countdownTask = null;
-         if (gameTimerTask != null) gameTimerTask.cancel(); gameTimerTask = null;
-         if (invincibilityTask != null) invincibilityTask.cancel(); invincibilityTask = null;
+         cancelTimeline();
          if (regenerationTask != null) regenerationTask.cancel(); regenerationTask = null; // Cancel regen if stopping during it
+         if (refillTask != null) refillTask.cancel(); refillTask = null;
+         lootBuffer.clear();
 
 
-          state = GameState.ENDING; // Temporarily set to ending to allow cleanup
+          setState(GameState.ENDING, false); // Temporarily set to ending to allow cleanup, listeners only see where it ends up
 
           // Use a copy to avoid ConcurrentModificationException while removing
          List<Player> currentPlayers = new ArrayList<>(getOnlinePlayers());
@@ -604,18 +761,18 @@ public class Arena {
 
 
           // Ensure internal lists are definitely cleared
-          players.clear();
-          spectators.clear();
-          selectedKits.clear();
-          invincibilityTimers.clear();
+          roster.clear();
+          rosterChanged();
           playerPlacedBlocks.clear(); // Clear placed blocks on stop too
+          blockJournal.clear();
+          releaseMatchChunks();
 
          if (force) {
               plugin.getLogger().info("Force stopped arena: " + name);
               // On force stop, transition directly to WAITING if enabled, or DISABLED if not
-              state = isEnabled() ? GameState.WAITING : GameState.DISABLED;
+              setState(isEnabled() ? GameState.WAITING : GameState.DISABLED);
               // Optionally broadcast a force stop message?
-               // broadcastMessage("arena-force-stopped", Map.of("arena", name));
+               // broadcastMessage("arena-force-stopped", Placeholder.of("arena", name));
          } else {
               // Normal stop flow (e.g., from endGame timeout) should lead to resetArena
                if(previousState != GameState.ENDING) { // Only trigger reset if not already called by endGame
@@ -623,36 +780,36 @@ public class Arena {
                }
          }
           // Clear action bars if they were showing something
-          getOnlinePlayersAndSpectators().forEach(p -> p.sendActionBar(Component.empty()));
+          sendActionBar(Component.empty());
     }
 
     // --- Regeneration ---
 
     private void resetArena(boolean regenerate) {
           // Players/Spectators should already be handled by the calling method (endGame/stopGame)
-         // but ensure lists are clear just in case.
-         players.clear();
-         spectators.clear();
-         selectedKits.clear();
-         invincibilityTimers.clear();
+         // but ensure lists are clear just in case. Anyone left (e.g. the winner) is released properly first.
+         new ArrayList<>(getOnlinePlayers()).forEach(this::removePlayer);
+         new ArrayList<>(getOnlineSpectators()).forEach(p -> removeSpectator(p, true));
+         roster.clear();
+         rosterChanged();
 
 
          if (regenerate && !"NONE".equals(plugin.getConfigManager().getRegenerationMode())) {
              startRegeneration();
          } else {
+              releaseMatchChunks();
               // If not regenerating (or mode is NONE), just set state to waiting/disabled
-              state = isEnabled() ? GameState.WAITING : GameState.DISABLED;
+              setState(isEnabled() ? GameState.WAITING : GameState.DISABLED);
               if (state == GameState.WAITING) {
-                 broadcastMessage("arena-ready", Map.of("arena", name));
-                 updateActionBars(); // Update action bar for waiting state
+                 broadcastMessage("arena-ready", Placeholder.of("arena", name));
               }
          }
     }
 
     private void startRegeneration() {
         if (state == GameState.REGENERATING) return; // Already regenerating
-        state = GameState.REGENERATING;
-        broadcastMessage("arena-regenerating", Map.of("arena", name));
+        setState(GameState.REGENERATING);
+        broadcastMessage("arena-regenerating", Placeholder.of("arena", name));
          plugin.getLogger().info("Starting regeneration for arena: " + name + " (Mode: " + plugin.getConfigManager().getRegenerationMode() + ")");
 
         if (regenerationTask != null) {
@@ -678,15 +835,15 @@ public class Arena {
 
                       if (success) {
                            plugin.getLogger().info("Regeneration successful for arena: " + name);
-                           state = isEnabled() ? GameState.WAITING : GameState.DISABLED; // Set state based on enabled status
+                           setState(isEnabled() ? GameState.WAITING : GameState.DISABLED); // Set state based on enabled status
                             if (state == GameState.WAITING) {
-                               broadcastMessage("arena-ready", Map.of("arena", name));
+                               broadcastMessage("arena-ready", Placeholder.of("arena", name));
                             }
                       } else {
                           plugin.getLogger().severe("Regeneration FAILED for arena: " + name + ". Arena remains disabled.");
                            setEnabled(false); // Explicitly disable if regeneration fails
                            plugin.getArenaManager().saveArena(Arena.this); // Save disabled state
-                           state = GameState.DISABLED; // Ensure state is disabled
+                           setState(GameState.DISABLED); // Ensure state is disabled
                            // Maybe broadcast an admin warning?
                       }
 
@@ -694,12 +851,10 @@ public class Arena {
                       plugin.getLogger().log(Level.SEVERE, "Error during regeneration for arena: " + name, e);
                       setEnabled(false); // Disable on error
                       plugin.getArenaManager().saveArena(Arena.this); // Save disabled state
-                      state = GameState.DISABLED; // Ensure state is disabled
+                      setState(GameState.DISABLED); // Ensure state is disabled
                  } finally {
                      regenerationTask = null; // Ensure task variable is cleared
-                      if (state == GameState.WAITING) {
-                         updateActionBars(); // Update action bars after regeneration finishes
-                      }
+                     releaseMatchChunks(); // Match is over, let the chest chunks unload again
                  }
              }
          }.runTaskLater(plugin, 1L); // Run on next tick to allow player kicks to fully process
@@ -734,6 +889,7 @@ public class Arena {
 
          // Reset player-placed block tracking (should be empty anyway after full regen)
          playerPlacedBlocks.clear();
+         blockJournal.clear();
          // Refill chests after restoring structure
          refillChests();
 
@@ -757,9 +913,16 @@ public class Arena {
          Set<Location> blocksToRemove = new HashSet<>(playerPlacedBlocks);
          playerPlacedBlocks.clear(); // Clear original set immediately
 
+         // Restore blocks changed by explosions, liquids, fire, pistons etc. to their journaled state
+         for (Map.Entry<Long, BlockData> entry : blockJournal.entrySet()) {
+             long key = entry.getKey();
+             world.getBlockAt(LocationUtil.blockKeyX(key), LocationUtil.blockKeyY(key), LocationUtil.blockKeyZ(key)).setBlockData(entry.getValue(), false);
+         }
+
          // Iterate through tracked player-placed blocks
          for (Location loc : blocksToRemove) {
              if (!loc.getWorld().equals(this.world)) continue; // Check world
+             if (blockJournal.containsKey(LocationUtil.blockKey(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()))) continue; // Already restored above
              // Check if it's within bounds? Should be, but safety.
              if (isWithinBounds(loc)) {
                 Block block = world.getBlockAt(loc);
@@ -767,6 +930,7 @@ public class Arena {
                 block.setType(Material.AIR, false); // Set to air without physics
              }
          }
+         blockJournal.clear();
 
 
          // Refill chests
@@ -779,77 +943,243 @@ public class Arena {
 
 
      // --- Chest Refilling ---
+     private void prepareMatchLoot() {
+         long seed = plugin.getConfigManager().getLootSeed();
+         if (seed == 0) {
+             seed = ThreadLocalRandom.current().nextLong();
+         }
+         lootBuffer.reset(seed, chestTiers);
+         plugin.getLogger().info("Arena '" + name + "' loot seed: " + seed);
+     }
+
      public void refillChests() {
-         plugin.getLogger().info("Refilling chests for arena: " + name);
          if (chestLocations == null || chestLocations.isEmpty()) {
              plugin.getLogger().warning("No chest locations defined for arena '" + name + "'. Skipping refill.");
              return;
          }
 
-         for (Location loc : chestLocations) {
-             if (loc.getWorld() == null || !loc.getWorld().equals(this.world)) continue; // Check world validity
-             Block block = world.getBlockAt(loc);
-              // Ensure chunk is loaded before accessing block state
-             if (!block.getChunk().isLoaded()) {
-                 block.getChunk().load(); // Load the chunk if it's not
-             }
-
-             if (block.getState() instanceof Chest) { // Check it's still a chest
-                 Chest chest = (Chest) block.getState();
-                 Inventory inv = chest.getBlockInventory(); // Get the block's inventory
-                 inv.clear(); // Clear existing items
-
-                 // Fill with loot - Requires a Loot Table system!
-                 // Placeholder: Fill with some basic items
-                 fillChestWithPlaceholderLoot(inv);
+         // Contents were generated ahead of time; only copy them into the inventories here
+         ItemStack[][] contents = lootBuffer.take();
 
-                 chest.update(); // Update the chest state
-             } else {
-                  plugin.getLogger().warning("Block at configured chest location " + LocationUtil.serializeLocation(loc) + " in arena '" + name + "' is not a Chest!");
-             }
+         if (plugin.getConfigManager().isLazyChestFilling()) {
+             // Don't touch the chests now, fill each one the first time something accesses it
+             pendingContents = contents;
+             pendingChests.set(0, chestLocations.size());
+         } else {
+             pendingChests.clear();
+             pendingContents = null;
+             startAmortisedRefill(contents);
          }
-          if (!players.isEmpty() || !spectators.isEmpty()) { // Only play sound if someone is potentially there
+          if (!roster.isEmpty()) { // Only play sound if someone is potentially there
              playSoundToAll(Sound.BLOCK_CHEST_OPEN, 0.7f, 1.2f); // Sound effect for refill
              broadcastMessage("chest-refilled"); // Announce refill
           }
      }
 
 
-     // Very basic placeholder loot - REPLACE WITH A REAL LOOT TABLE SYSTEM
-     private void fillChestWithPlaceholderLoot(Inventory inventory) {
-         Random random = new Random();
-         int itemsToPlace = 3 + random.nextInt(4); // Place 3-6 items
-
-         List<ItemStack> possibleLoot = Arrays.asList(
-                 new ItemStack(Material.STONE_SWORD),
-                 new ItemStack(Material.IRON_SWORD),
-                 new ItemStack(Material.BOW),
-                 new ItemStack(Material.ARROW, 8 + random.nextInt(9)), // 8-16 arrows
-                 new ItemStack(Material.COOKED_BEEF, 2 + random.nextInt(3)), // 2-4 food
-                 new ItemStack(Material.GOLDEN_APPLE),
-                 new ItemStack(Material.OAK_PLANKS, 16 + random.nextInt(17)), // 16-32 blocks
-                 new ItemStack(Material.COBBLESTONE, 16 + random.nextInt(17)),
-                 new ItemStack(Material.WATER_BUCKET),
-                 new ItemStack(Material.LAVA_BUCKET), // Maybe rarer?
-                 new ItemStack(Material.IRON_HELMET),
-                 new ItemStack(Material.IRON_CHESTPLATE),
-                 new ItemStack(Material.IRON_LEGGINGS),
-                 new ItemStack(Material.IRON_BOOTS)
-         );
-
-         for (int i = 0; i < itemsToPlace; i++) {
-             int slot;
-             int attempts = 0;
-             do {
-                 slot = random.nextInt(inventory.getSize());
-                 attempts++;
-             } while (inventory.getItem(slot) != null && attempts < inventory.getSize() * 2); // Find an empty slot, limit attempts
-
-              if (inventory.getItem(slot) == null) { // Place item if slot is still empty
-                 ItemStack lootItem = possibleLoot.get(random.nextInt(possibleLoot.size())).clone();
-                 inventory.setItem(slot, lootItem);
-              }
+     // Applies a refill round over several ticks, spending at most the configured budget per tick
+     private void startAmortisedRefill(ItemStack[][] contents) {
+         refillContents = contents;
+         refillCursor = 0;
+         if (refillTask != null) return; // Running task restarts from the first chest with the new round
+
+         refillTask = new BukkitRunnable() {
+             @Override
+             public void run() {
+                 long deadline = System.nanoTime() + plugin.getConfigManager().getChestRefillBudgetNanos();
+                 ItemStack[][] round = refillContents;
+                 int count = round != null ? Math.min(round.length, chestLocations.size()) : 0;
+                 while (refillCursor < count) {
+                     fillChest(refillCursor, round[refillCursor]);
+                     refillCursor++;
+                     if (System.nanoTime() >= deadline) return; // Continue next tick
+                 }
+                 cancel();
+                 refillTask = null;
+                 refillContents = null;
+             }
+         }.runTaskTimer(plugin, 0L, 1L);
+     }
+
+     private void fillChest(int index, ItemStack[] contents) {
+         Location loc = chestLocations.get(index);
+         if (loc == null || loc.getWorld() == null || !loc.getWorld().equals(this.world)) return; // Check world validity
+         if (!world.isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) {
+             // Never load chunks synchronously here, fill the chest once its chunk arrives, unless the match is over by then
+             int match = matchId;
+             world.getChunkAtAsync(loc).thenAccept(chunk -> {
+                 if (matchId != match || state != GameState.IN_GAME) return;
+                 if (index < chestLocations.size() && chestLocations.get(index) == loc) {
+                     fillChest(index, contents);
+                 }
+             });
+             return;
+         }
+
+         Inventory inv = chestInventories != null ? chestInventories[index] : null;
+         if (inv == null || !isLiveInventory(inv, loc)) {
+             inv = resolveChestInventory(index); // Not cached yet, or the cached chest was broken or replaced
+             if (inv == null) return;
+         }
+         inv.setContents(contents.length == inv.getSize() ? contents : Arrays.copyOf(contents, inv.getSize())); // Replaces existing items in the live inventory
+     }
+
+     private Inventory resolveChestInventory(int index) {
+         Location loc = chestLocations.get(index);
+         BlockState state = world.getBlockAt(loc).getState(false); // Live state, no snapshot copy needed
+         Inventory inv = null;
+         if (state instanceof Chest) { // Check it's still a chest
+             inv = ((Chest) state).getBlockInventory(); // Single chest half, even if part of a double chest
+         } else if (state instanceof Container) {
+             inv = ((Container) state).getInventory();
+         } else {
+              plugin.getLogger().warning("Block at configured chest location " + LocationUtil.serializeLocation(loc) + " in arena '" + name + "' is not a Chest!");
+         }
+         if (chestInventories != null && index < chestInventories.length) {
+             chestInventories[index] = inv;
+         }
+         return inv;
+     }
+
+     // A chest broken and placed again at the same spot is a new block entity, the cached handle would write into the old one.
+     // Inventories compare by their backing container, and getState(false) wraps the live block entity without copying it.
+     private boolean isLiveInventory(Inventory cached, Location loc) {
+         BlockState live = world.getBlockAt(loc).getState(false);
+         if (live instanceof Chest chest) return cached.equals(chest.getBlockInventory());
+         return live instanceof Container container && cached.equals(container.getInventory());
+     }
+
+     // Loads every chest chunk asynchronously, keeps it loaded for the match and caches the live inventories
+     private void prefetchChestChunks() {
+         if (chestInventories != null || world == null || chestLocations.isEmpty()) return;
+         Inventory[] handles = new Inventory[chestLocations.size()];
+         chestInventories = handles;
+
+         Set<Long> requested = new HashSet<>();
+         for (Location loc : chestLocations) {
+             if (loc == null || !world.equals(loc.getWorld())) continue;
+             int chunkX = loc.getBlockX() >> 4;
+             int chunkZ = loc.getBlockZ() >> 4;
+             if (!requested.add(LocationUtil.chunkKey(chunkX, chunkZ))) continue;
+
+             world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                 if (chestInventories != handles) return; // Match ended before the chunk arrived
+                 chunk.addPluginChunkTicket(plugin);
+                 ticketedChunks.add(chunk);
+                 for (int i = 0; i < chestLocations.size() && i < handles.length; i++) {
+                     Location chestLoc = chestLocations.get(i);
+                     if (chestLoc != null && chestLoc.getBlockX() >> 4 == chunk.getX() && chestLoc.getBlockZ() >> 4 == chunk.getZ()) {
+                         resolveChestInventory(i);
+                     }
+                 }
+             });
+         }
+     }
+
+     // Loads the spawn chunks asynchronously and keeps them loaded for the match
+     private void prefetchSpawnChunks() {
+         if (spawnChunksPrefetched || world == null || playerSpawns.isEmpty()) return;
+         spawnChunksPrefetched = true;
+
+         Set<Long> requested = new HashSet<>();
+         for (Location loc : playerSpawns) {
+             if (loc == null || !world.equals(loc.getWorld())) continue;
+             int chunkX = loc.getBlockX() >> 4;
+             int chunkZ = loc.getBlockZ() >> 4;
+             if (!requested.add(LocationUtil.chunkKey(chunkX, chunkZ))) continue;
+
+             world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                 if (!spawnChunksPrefetched) return; // Released before the chunk arrived
+                 chunk.addPluginChunkTicket(plugin);
+                 ticketedChunks.add(chunk);
+             });
+         }
+     }
+
+     private void releaseMatchChunks() {
+         chestInventories = null;
+         spawnChunksPrefetched = false;
+         for (Chunk chunk : ticketedChunks) {
+             chunk.removePluginChunkTicket(plugin);
+         }
+         ticketedChunks.clear();
+     }
+
+     // Lazy mode: applies the pending refill to the chest at this block, if it has one. Returns true if filled.
+     public boolean fillPendingChest(Block block) {
+         if (pendingContents == null || pendingChests.isEmpty()) return false;
+         Integer index = chestIndexByKey.get(LocationUtil.blockKey(block.getX(), block.getY(), block.getZ()));
+         if (index == null || !pendingChests.get(index)) return false;
+         pendingChests.clear(index);
+         fillChest(index, pendingContents[index]); // Chunk is loaded, something is touching the block
+         if (pendingChests.isEmpty()) {
+             pendingContents = null;
+         }
+         return true;
+     }
+
+     public boolean hasPendingChests() {
+         return !pendingChests.isEmpty();
+     }
+
+     private void rebuildChestIndex() {
+         chestIndexByKey.clear();
+         pendingChests.clear();
+         pendingContents = null;
+         for (int i = 0; i < chestLocations.size(); i++) {
+             Location loc = chestLocations.get(i);
+             if (loc == null) continue;
+             chestIndexByKey.put(LocationUtil.blockKey(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()), i);
+         }
+     }
+
+
+     // Assigns every chest a loot tier once, so refills never compute geometry.
+     // Setup overrides win; otherwise chests close to a player spawn are SPAWN, close to the center are CENTER, the rest MID.
+     private void classifyChests() {
+         byte[] tiers = new byte[chestLocations.size()];
+         Location reference = center != null ? center : getBoundsMidpoint();
+         double centerRadius = plugin.getConfigManager().getChestTierCenterRadius();
+         double spawnRadius = plugin.getConfigManager().getChestTierSpawnRadius();
+         double centerRadiusSq = centerRadius * centerRadius;
+         double spawnRadiusSq = spawnRadius * spawnRadius;
+
+         for (int i = 0; i < tiers.length; i++) {
+             Location loc = chestLocations.get(i);
+             ChestTier tier = ChestTier.MID;
+             if (loc != null) {
+                 ChestTier override = chestTierOverrides.get(LocationUtil.blockKey(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()));
+                 if (override != null) {
+                     tier = override;
+                 } else {
+                     double spawnDistSq = Double.MAX_VALUE;
+                     for (Location spawn : playerSpawns) {
+                         if (spawn != null) spawnDistSq = Math.min(spawnDistSq, horizontalDistanceSquared(loc, spawn));
+                     }
+                     double centerDistSq = reference != null ? horizontalDistanceSquared(loc, reference) : Double.MAX_VALUE;
+
+                     if (spawnDistSq <= spawnRadiusSq && spawnDistSq < centerDistSq) {
+                         tier = ChestTier.SPAWN;
+                     } else if (centerDistSq <= centerRadiusSq) {
+                         tier = ChestTier.CENTER;
+                     }
+                 }
+             }
+             tiers[i] = (byte) tier.ordinal();
          }
+         chestTiers = tiers;
+         lootBuffer.setChestTiers(tiers);
+     }
+
+     private Location getBoundsMidpoint() {
+         if (corner1 == null || corner2 == null) return null;
+         return new Location(world, (corner1.getX() + corner2.getX()) / 2, (corner1.getY() + corner2.getY()) / 2, (corner1.getZ() + corner2.getZ()) / 2);
+     }
+
+     private static double horizontalDistanceSquared(Location a, Location b) {
+         double dx = a.getX() - b.getX();
+         double dz = a.getZ() - b.getZ();
+         return dx * dx + dz * dz;
      }
 
 
@@ -906,35 +1236,79 @@ public class Arena {
 
     // --- Utility Methods ---
 
-    public void broadcastMessage(String key) {
-        broadcastMessage(key, Collections.emptyMap());
+    // Roster changed: refresh the sidebar, and tell lobby displays if the player count moved
+    private void rosterChanged() {
+        sidebar.update();
+        bossBar.update();
+        int players = roster.getPlayerCount();
+        if (players == announcedPlayerCount) return;
+        announcedPlayerCount = players;
+        Bukkit.getPluginManager().callEvent(new ArenaPlayerCountChangeEvent(this, players));
     }
 
-    public void broadcastMessage(String key, Map<String, String> placeholders) {
-        String message = plugin.getConfigManager().getPrefixedMessage(key, placeholders);
-        getOnlinePlayersAndSpectators().forEach(p -> p.sendMessage(message));
+    // Every state change after construction goes through here, so listeners (sidebar, join signs) see all of them
+    private void setState(GameState newState) {
+        setState(newState, true);
     }
 
-     public void sendActionbarOrChatToAll(String message) {
+    // A change made without announcing it is reported together with the next announced one
+    private void setState(GameState newState, boolean announce) {
+        if (state != newState) {
+            boolean frozenChanged = state == GameState.IN_GAME || newState == GameState.IN_GAME;
+            state = newState;
+            if (frozenChanged) plugin.getArenaManager().updateFrozenWorlds(); // Frozen-arena checks gate on this
+        }
+        if (!announce || announcedState == newState) return;
+        GameState previous = announcedState;
+        announcedState = newState;
+        Bukkit.getPluginManager().callEvent(new ArenaStateChangeEvent(this, previous, newState));
+        sidebar.update();
+        bossBar.update();
+    }
+
+    // Everyone in the arena. Titles and action bars sent to the arena go out immediately, chat and sounds use the feed below.
+    @Override
+    public Iterable<? extends Audience> audiences() {
+        return roster.getMembers();
+    }
+
+    // Rendered once per locale and sent with the rest of this tick's broadcasts
+    public void broadcastMessage(String key, Placeholder... args) {
+        feed.message(key, args);
+    }
+
+     public void sendActionbarOrChatToAll(Component message) {
         if (plugin.getConfigManager().showActionBarMessages()) {
-             Component component = Component.text(ChatColor.translateAlternateColorCodes('&', message));
-             getOnlinePlayersAndSpectators().forEach(p -> p.sendActionBar(component));
+             sendActionBar(message);
         } else {
             // Fallback to chat if action bar is disabled - use Prefixed message for chat fallback
-            String chatMessage = plugin.getConfigManager().getMessage("prefix") + ChatColor.translateAlternateColorCodes('&', message);
-             getOnlinePlayersAndSpectators().forEach(p -> p.sendMessage(chatMessage));
+            feed.message(plugin.getConfigManager().getMessageComponent("prefix").append(message));
         }
     }
 
     public void sendTitleToAll(Title title) {
-         getOnlinePlayersAndSpectators().forEach(p -> p.showTitle(title));
+         showTitle(title);
     }
 
+    // Played at each member's own position, the same sound requested twice in one tick plays once
     public void playSoundToAll(Sound sound, float volume, float pitch) {
-         getOnlinePlayersAndSpectators().forEach(p -> p.playSound(p.getLocation(), sound, volume, pitch));
+         feed.sound(net.kyori.adventure.sound.Sound.sound(sound, net.kyori.adventure.sound.Sound.Source.MASTER, volume, pitch));
     }
 
 
+    // Gives a leaving player their pre-arena state back, or clears them and sends them to the main lobby without a snapshot.
+    // Pending teleports that would put them back into the arena are dropped first.
+    private void releasePlayer(Player player) {
+        sidebar.hide(player);
+        bossBar.hide(player);
+        if (plugin.getPlayerStateManager().restore(player)) return;
+        resetPlayerState(player, Bukkit.getDefaultGameMode()); // Reset to server default
+        plugin.getTeleportManager().cancel(player);
+        if (player.isOnline()) {
+            plugin.getTeleportManager().teleport(player, plugin.getConfigManager().getMainLobby());
+        }
+    }
+
     private void resetPlayerState(Player player, GameMode gameMode) {
         player.setGameMode(gameMode);
         player.setHealth(player.getMaxHealth());
@@ -955,64 +1329,19 @@ public class Arena {
          player.setWalkSpeed(0.2f); // Reset walk speed
     }
 
+    // Live read-only views, everyone in them is online. Copy before removing members while iterating.
     public List<Player> getOnlinePlayers() {
-         List<Player> online = new ArrayList<>();
-         // Use iterator to safely handle potential mid-iteration removal elsewhere (though CopyOnWriteArrayList helps)
-         Iterator<UUID> iterator = players.iterator();
-         while(iterator.hasNext()){
-             UUID uuid = iterator.next();
-             Player p = Bukkit.getPlayer(uuid);
-             if (p != null && p.isOnline()) {
-                 online.add(p);
-             } else {
-                 // Player is offline or invalid, remove them from the list
-                 iterator.remove();
-                 selectedKits.remove(uuid); // Clean up associated data
-                 invincibilityTimers.remove(uuid);
-                 plugin.getArenaManager().removePlayerFromArena(p); // Ensure manager map is also cleared
-             }
-         }
-         return online;
+         return roster.getPlayers();
      }
 
     public List<Player> getOnlineSpectators() {
-         List<Player> online = new ArrayList<>();
-          Iterator<UUID> iterator = spectators.iterator();
-         while(iterator.hasNext()){
-             UUID uuid = iterator.next();
-             Player p = Bukkit.getPlayer(uuid);
-             if (p != null && p.isOnline()) {
-                 online.add(p);
-             } else {
-                 iterator.remove(); // Clean up offline spectator
-                 plugin.getArenaManager().removePlayerFromArena(p); // Spectators are also in the playerArenas map
-             }
-         }
-         return online;
+         return roster.getSpectators();
      }
 
-      public List<Player> getOnlinePlayersAndSpectators() {
-        List<Player> online = new ArrayList<>();
-        online.addAll(getOnlinePlayers()); // This now handles cleanup internally
-        online.addAll(getOnlineSpectators()); // This now handles cleanup internally
-        return online;
-    }
-
 
     public boolean isWithinBounds(Location loc) {
-        if (world == null || corner1 == null || corner2 == null || loc == null || loc.getWorld() == null || !loc.getWorld().equals(world)) {
-            return false;
-        }
-        int minX = Math.min(corner1.getBlockX(), corner2.getBlockX());
-        int minY = Math.min(corner1.getBlockY(), corner2.getBlockY());
-        int minZ = Math.min(corner1.getBlockZ(), corner2.getBlockZ());
-        int maxX = Math.max(corner1.getBlockX(), corner2.getBlockX());
-        int maxY = Math.max(corner1.getBlockY(), corner2.getBlockY());
-        int maxZ = Math.max(corner1.getBlockZ(), corner2.getBlockZ());
-
-        return loc.getX() >= minX && loc.getX() < maxX + 1 && // Include maxX block boundary
-               loc.getY() >= minY && loc.getY() < maxY + 1 && // Include maxY block boundary
-               loc.getZ() >= minZ && loc.getZ() < maxZ + 1;   // Include maxZ block boundary
+        ArenaBounds cached = bounds;
+        return cached != null && loc != null && cached.contains(loc);
     }
 
     public boolean isFullySetup() {
@@ -1025,50 +1354,104 @@ public class Arena {
      }
 
 
-    public void updateActionBars() {
-         if (!plugin.getConfigManager().showActionBarMessages()) return;
+    // Everything buildActionBar depends on, packed so the HudManager can tell when to rebuild without building it.
+    // Bits: state 60-62, players 50-59, members 40-49, seconds left 20-39, seconds to the next event + 1 (0 = none) 0-19.
+    public long getActionBarInputs() {
+        int seconds = state == GameState.STARTING ? countdownSeconds : state == GameState.IN_GAME ? gameTimeRemaining : 0;
+        MatchTimeline.Event nextEvent = state == GameState.IN_GAME ? getNextEvent() : null;
+        int nextIn = nextEvent != null ? nextEvent.getSecond() - gameTimeElapsed + 1 : 0;
+        int members = roster.getPlayerCount() + roster.getSpectatorCount(); // Newcomers need the bar right away
+        return (long) state.ordinal() << 60
+                | (long) clampBits(roster.getPlayerCount(), 10) << 50
+                | (long) clampBits(members, 10) << 40
+                | (long) clampBits(seconds, 20) << 20
+                | clampBits(nextIn, 20);
+    }
 
-         String actionBarMessage = "";
-         Map<String, String> placeholders = new HashMap<>();
-         placeholders.put("arena", name);
+    private static int clampBits(int value, int bits) {
+        return Math.max(0, Math.min(value, (1 << bits) - 1));
+    }
 
-         switch (state) {
-            case WAITING:
-                 int needed = Math.max(0, plugin.getConfigManager().getMinPlayersToStart() - players.size());
-                 placeholders.put("needed", String.valueOf(needed));
-                 placeholders.put("current", String.valueOf(players.size()));
-                 placeholders.put("max", String.valueOf(plugin.getConfigManager().getMaxPlayersPerArena()));
-                 actionBarMessage = plugin.getConfigManager().getMessage("actionbar-waiting", placeholders);
-                 break;
-            case STARTING:
-                 placeholders.put("time", String.valueOf(countdownSeconds));
-                 actionBarMessage = plugin.getConfigManager().getMessage("actionbar-starting", placeholders);
-                 break;
-             case IN_GAME:
-                  placeholders.put("players", String.valueOf(players.size()));
-                  placeholders.put("time", formatTime(gameTimeRemaining));
-                  // TODO: Add next event placeholder if implementing refills/events
-                  actionBarMessage = plugin.getConfigManager().getMessage("actionbar-ingame", placeholders);
-                 break;
-             case ENDING:
-                // Show nothing or a generic "Game Over" message?
-                 actionBarMessage = plugin.getConfigManager().getMessage("actionbar-ending", placeholders);
-                 break;
-             case REGENERATING:
-                 actionBarMessage = plugin.getConfigManager().getMessage("actionbar-regenerating", placeholders);
-                break;
-             case DISABLED:
-                  actionBarMessage = plugin.getConfigManager().getMessage("actionbar-disabled", placeholders);
-                  break;
-        }
+    // Rendered by the HudManager once per message bundle in use
+    public Component buildActionBar(MessageBundle messages) {
+         ConfigManager config = plugin.getConfigManager();
+         return switch (state) {
+             case WAITING -> messages.getMessageComponent("actionbar-waiting", Placeholder.of("arena", name),
+                     Placeholder.of("needed", Math.max(0, config.getMinPlayersToStart() - roster.getPlayerCount())),
+                     Placeholder.of("current", roster.getPlayerCount()), Placeholder.of("max", config.getMaxPlayersPerArena()));
+             case STARTING -> messages.getMessageComponent("actionbar-starting", Placeholder.of("arena", name), Placeholder.of("time", countdownSeconds));
+             case IN_GAME -> {
+                 MatchTimeline.Event nextEvent = getNextEvent();
+                 Component next = nextEvent != null
+                         ? messages.getMessageComponent("timeline-event-" + nextEvent.getType().name().toLowerCase())
+                                 .append(Component.text(" " + formatTime(nextEvent.getSecond() - gameTimeElapsed)))
+                         : messages.getMessageComponent("timeline-event-none", Placeholder.of("arena", name));
+                 yield messages.getMessageComponent("actionbar-ingame", Placeholder.of("arena", name),
+                         Placeholder.of("players", roster.getPlayerCount()), Placeholder.of("time", formatTime(gameTimeRemaining)), Placeholder.of("next_event", next));
+             }
+             // Usually placeholder-free, served from the template cache
+             case ENDING -> messages.getMessageComponent("actionbar-ending", Placeholder.of("arena", name));
+             case REGENERATING -> messages.getMessageComponent("actionbar-regenerating", Placeholder.of("arena", name));
+             case DISABLED -> messages.getMessageComponent("actionbar-disabled", Placeholder.of("arena", name));
+         };
+    }
 
-         if (!actionBarMessage.isEmpty()) {
-            Component component = Component.text(ChatColor.translateAlternateColorCodes('&', actionBarMessage));
-            getOnlinePlayersAndSpectators().forEach(p -> p.sendActionBar(component));
-         } else {
-            // Send empty component to clear bar if no message applies
-             getOnlinePlayersAndSpectators().forEach(p -> p.sendActionBar(Component.empty()));
+    // Sidebar content for the current state, one component per line. Empty components are spacer lines.
+    List<Component> buildSidebarLines() {
+         ConfigManager config = plugin.getConfigManager();
+         List<Component> lines = new ArrayList<>(7);
+         lines.add(Component.empty());
+         switch (state) {
+             case WAITING, STARTING -> {
+                 lines.add(config.getMessageComponent("sidebar-arena", Placeholder.of("arena", name)));
+                 lines.add(config.getMessageComponent("sidebar-players", Placeholder.of("current", roster.getPlayerCount()), Placeholder.of("max", config.getMaxPlayersPerArena())));
+                 lines.add(Component.empty());
+                 lines.add(state == GameState.STARTING
+                         ? config.getMessageComponent("sidebar-starting", Placeholder.of("time", countdownSeconds))
+                         : config.getMessageComponent("sidebar-waiting", Placeholder.of("needed", Math.max(0, config.getMinPlayersToStart() - roster.getPlayerCount()))));
+             }
+             case IN_GAME -> {
+                 lines.add(config.getMessageComponent("sidebar-alive", Placeholder.of("alive", roster.getPlayerCount())));
+                 lines.add(topKiller != null
+                         ? config.getMessageComponent("sidebar-top-kills", Placeholder.of("player", topKiller), Placeholder.of("kills", topKills))
+                         : config.getMessageComponent("sidebar-top-kills-none"));
+                 lines.add(Component.empty());
+                 MatchTimeline.Event nextEvent = getNextEvent();
+                 lines.add(nextEvent != null
+                         ? config.getMessageComponent("sidebar-next-event",
+                                 Placeholder.of("event", config.getMessageComponent("timeline-event-" + nextEvent.getType().name().toLowerCase())),
+                                 Placeholder.of("time", formatTime(nextEvent.getSecond() - gameTimeElapsed)))
+                         : config.getMessageComponent("sidebar-next-event-none"));
+                 if (gameTimeRemaining > 0) {
+                     lines.add(config.getMessageComponent("sidebar-time-left", Placeholder.of("time", formatTime(gameTimeRemaining))));
+                 }
+             }
+             default -> {
+                 lines.add(config.getMessageComponent("sidebar-arena", Placeholder.of("arena", name)));
+                 lines.add(config.getMessageComponent("sidebar-ending"));
+             }
          }
+         lines.add(Component.empty());
+         return lines;
+    }
+
+    // Boss bar title while in game: the next timeline event, and the time left if the game has a limit
+    Component buildBossBarName() {
+         ConfigManager config = plugin.getConfigManager();
+         MatchTimeline.Event nextEvent = getNextEvent();
+         Component next = nextEvent != null
+                 ? config.getMessageComponent("bossbar-next-event",
+                         Placeholder.of("event", config.getMessageComponent("timeline-event-" + nextEvent.getType().name().toLowerCase())),
+                         Placeholder.of("time", formatTime(nextEvent.getSecond() - gameTimeElapsed)))
+                 : config.getMessageComponent("bossbar-next-event-none");
+         return gameTimeRemaining > 0
+                 ? config.getMessageComponent("bossbar-ingame", Placeholder.of("arena", name), Placeholder.of("time", formatTime(gameTimeRemaining)), Placeholder.of("next_event", next))
+                 : config.getMessageComponent("bossbar-ingame-no-limit", Placeholder.of("arena", name), Placeholder.of("next_event", next));
+    }
+
+    // True while the start invincibility window of the current match is running (HUD countdown overlays)
+    public boolean isInvincibilityRunning(long tick) {
+        return state == GameState.IN_GAME && tick < invincibilityEndTick;
     }
 
     private String formatTime(int totalSeconds) {
@@ -1082,8 +1465,9 @@ public class Arena {
      // --- Getters ---
     public String getName() { return name; }
     public GameState getState() { return state; }
-    public List<UUID> getPlayers() { return players; } // Returns concurrent list, be careful if iterating/modifying outside synchronized block
-    public List<UUID> getSpectators() { return spectators; } // Returns concurrent list
+    public List<Player> getPlayers() { return roster.getPlayers(); } // Live read-only view, main thread only
+    public List<Player> getSpectators() { return roster.getSpectators(); } // Live read-only view
+    public ArenaRoster getRoster() { return roster; }
     public boolean isEnabled() { return enabled; }
     public Location getLobbySpawn() { return lobbySpawn; }
     public Location getSpectatorSpawn() { return spectatorSpawn; }
@@ -1092,7 +1476,14 @@ public class Arena {
     public Location getCorner1() { return corner1; }
     public Location getCorner2() { return corner2; }
      public Location getCenter() { return center; }
+    public ArenaBounds getBounds() { return bounds; }
      public World getWorld() { return world; }
+    public List<String> getTimelineEntries() { return timelineEntries; }
+    public Map<Long, ChestTier> getChestTierOverrides() { return chestTierOverrides; }
+    public ChestTier getChestTier(int chestIndex) { return ChestTier.fromIndex(chestTiers[chestIndex]); }
+    public int getGameTimeRemaining() { return gameTimeRemaining; }
+    public int getCountdownSeconds() { return countdownSeconds; }
+    public int getGameTimeElapsed() { return gameTimeElapsed; }
     public Map<Location, BlockData> getOriginalBlockData() { return originalBlockData; } // Mainly for saving
 
     // --- Setters (used by setup mostly) ---
@@ -1102,31 +1493,34 @@ public class Arena {
          if (changed) { // Only act if state actually changed
              if (!enabled && this.state != GameState.DISABLED) {
                  stopGame(true); // Force stop game if disabling
-                 this.state = GameState.DISABLED;
-                  updateActionBars();
+                 setState(GameState.DISABLED);
              } else if (enabled && this.state == GameState.DISABLED && isFullySetup()) {
-                 this.state = GameState.WAITING; // Transition to waiting if enabled and ready
-                 updateActionBars();
+                 setState(GameState.WAITING); // Transition to waiting if enabled and ready
              }
          }
     }
     public void setLobbySpawn(Location lobbySpawn) { this.lobbySpawn = lobbySpawn; if(world == null && lobbySpawn != null) world = lobbySpawn.getWorld(); }
     public void setSpectatorSpawn(Location spectatorSpawn) { this.spectatorSpawn = spectatorSpawn; }
-    public void setPlayerSpawns(List<Location> playerSpawns) { this.playerSpawns = playerSpawns; }
-    public void setChestLocations(List<Location> chestLocations) { this.chestLocations = chestLocations; }
-    public void setCorner1(Location corner1) { this.corner1 = corner1; if(world == null && corner1 != null) world = corner1.getWorld(); }
-    public void setCorner2(Location corner2) { this.corner2 = corner2; if(world == null && corner2 != null) world = corner2.getWorld(); }
-     public void setCenter(Location center) { this.center = center; }
+    public void setPlayerSpawns(List<Location> playerSpawns) { this.playerSpawns = playerSpawns; classifyChests(); }
+    public void setChestLocations(List<Location> chestLocations) { this.chestLocations = chestLocations; rebuildChestIndex(); releaseMatchChunks(); classifyChests(); }
+    public void setCorner1(Location corner1) { this.corner1 = corner1; if(world == null && corner1 != null) world = corner1.getWorld(); bounds = ArenaBounds.of(this.corner1, corner2); }
+    public void setCorner2(Location corner2) { this.corner2 = corner2; if(world == null && corner2 != null) world = corner2.getWorld(); bounds = ArenaBounds.of(corner1, this.corner2); }
+     public void setCenter(Location center) { this.center = center; classifyChests(); }
+    public void setChestTierOverrides(Map<Long, ChestTier> overrides) { this.chestTierOverrides = new HashMap<>(overrides); classifyChests(); }
+    public void setTimelineEntries(List<String> timelineEntries) { this.timelineEntries = timelineEntries != null ? new ArrayList<>(timelineEntries) : new ArrayList<>(); }
      public void setOriginalBlockData(Map<Location, BlockData> data) { this.originalBlockData = data; }
 
 
      // State check helpers
-     public boolean isPlayer(Player player) { return players.contains(player.getUniqueId()); }
-     public boolean isSpectator(Player player) { return spectators.contains(player.getUniqueId()); }
+     public boolean isPlayer(Player player) { return roster.isPlayer(player); }
+     public boolean isSpectator(Player player) { return roster.isSpectator(player); }
 
-    public void setSelectedKit(UUID uniqueId, Kit kit) {
+    public void setSelectedKit(Player player, Kit kit) {
         if (state == GameState.WAITING || state == GameState.STARTING) {
-             selectedKits.put(uniqueId, kit);
+             ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(player);
+             if (session != null && session.getArena() == this) {
+                 session.setSelectedKit(kit);
+             }
         }
     }
 
@@ -1141,4 +1535,19 @@ public class Arena {
              //}
         }
     }
+
+     // Remembers a block's state before its first change this match, so PARTIAL regeneration can put it back
+     public void journalBlock(Block block) {
+         if (!journalChanges) return;
+         long key = LocationUtil.blockKey(block.getX(), block.getY(), block.getZ());
+         if (!blockJournal.containsKey(key)) {
+             blockJournal.put(key, block.getBlockData());
+         }
+     }
+
+     // Same, with the original state supplied by the caller (e.g. the state a placed block replaced)
+     public void journalBlock(Block block, BlockData original) {
+         if (!journalChanges) return;
+         blockJournal.putIfAbsent(LocationUtil.blockKey(block.getX(), block.getY(), block.getZ()), original);
+     }
 }
\ No newline at end of file
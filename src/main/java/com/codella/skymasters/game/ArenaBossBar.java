@@ -0,0 +1,90 @@
+package com.codella.skymasters.game;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.managers.ConfigManager;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+// The arena boss bar: one Adventure BossBar per arena, viewed by everyone in it.
+// Members are added and removed as they join and leave. The arena asks for an update on every countdown or clock
+// second and on state and roster changes; requests are coalesced to once per tick, and name, progress and color
+// are only set when they changed. Shared by everyone, so it uses messages.yml.
+// Main thread only.
+class ArenaBossBar {
+
+    private final SkyMasters plugin;
+    private final Arena arena;
+    private BossBar bar; // Created for the first viewer
+    private boolean updateScheduled;
+
+    ArenaBossBar(SkyMasters plugin, Arena arena) {
+        this.plugin = plugin;
+        this.arena = arena;
+    }
+
+    void show(Player player) {
+        if (!plugin.getConfigManager().isBossBarEnabled()) return;
+        if (bar == null) {
+            bar = BossBar.bossBar(Component.empty(), 1f, BossBar.Color.GREEN, BossBar.Overlay.PROGRESS);
+        }
+        update();
+        player.showBossBar(bar); // No-op if already shown
+    }
+
+    void hide(Player player) {
+        if (bar != null) player.hideBossBar(bar);
+    }
+
+    void update() {
+        if (bar == null || updateScheduled || !plugin.isEnabled()) return; // Not while disabling, players are released
+        updateScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::apply);
+    }
+
+    private void apply() {
+        updateScheduled = false;
+        if (arena.getRoster().isEmpty()) return; // Nobody watching, the next viewer asks again
+
+        ConfigManager config = plugin.getConfigManager();
+        Component name;
+        float progress;
+        BossBar.Color color;
+        switch (arena.getState()) {
+            case WAITING -> {
+                int players = arena.getRoster().getPlayerCount();
+                int needed = config.getMinPlayersToStart();
+                name = config.getMessageComponent("bossbar-waiting", Placeholder.of("arena", arena.getName()),
+                        Placeholder.of("current", players), Placeholder.of("max", config.getMaxPlayersPerArena()), Placeholder.of("needed", Math.max(0, needed - players)));
+                progress = fraction(players, needed);
+                color = BossBar.Color.GREEN;
+            }
+            case STARTING -> {
+                name = config.getMessageComponent("bossbar-starting", Placeholder.of("arena", arena.getName()), Placeholder.of("time", arena.getCountdownSeconds()));
+                progress = fraction(arena.getCountdownSeconds(), config.getLobbyCountdownSeconds());
+                color = BossBar.Color.YELLOW;
+            }
+            case IN_GAME -> {
+                name = arena.buildBossBarName();
+                int limit = config.getGameTimeLimitSeconds();
+                progress = limit > 0 ? fraction(arena.getGameTimeRemaining(), limit) : 1f;
+                color = progress > 0.25f ? BossBar.Color.BLUE : BossBar.Color.RED;
+            }
+            default -> {
+                name = config.getMessageComponent("bossbar-ending", Placeholder.of("arena", arena.getName()));
+                progress = 1f;
+                color = BossBar.Color.PURPLE;
+            }
+        }
+
+        if (!name.equals(bar.name())) bar.name(name);
+        if (progress != bar.progress()) bar.progress(progress);
+        if (color != bar.color()) bar.color(color);
+    }
+
+    private static float fraction(int value, int total) {
+        return total <= 0 ? 1f : Math.max(0f, Math.min(1f, (float) value / total));
+    }
+}
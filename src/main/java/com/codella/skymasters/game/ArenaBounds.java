@@ -0,0 +1,82 @@
+package com.codella.skymasters.game;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.UUID;
+
+// Immutable, normalised arena bounds. Built once from the two setup corners so checks are plain int compares.
+public final class ArenaBounds {
+
+    private final UUID worldId;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ; // Inclusive block coordinates
+
+    private ArenaBounds(UUID worldId, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.worldId = worldId;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    // Returns null if the corners are missing or not in a loaded world
+    public static ArenaBounds of(Location corner1, Location corner2) {
+        if (corner1 == null || corner2 == null || corner1.getWorld() == null) return null;
+        return new ArenaBounds(corner1.getWorld().getUID(),
+                Math.min(corner1.getBlockX(), corner2.getBlockX()),
+                Math.min(corner1.getBlockY(), corner2.getBlockY()),
+                Math.min(corner1.getBlockZ(), corner2.getBlockZ()),
+                Math.max(corner1.getBlockX(), corner2.getBlockX()),
+                Math.max(corner1.getBlockY(), corner2.getBlockY()),
+                Math.max(corner1.getBlockZ(), corner2.getBlockZ()));
+    }
+
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x < maxX + 1 && // Include maxX block boundary
+               y >= minY && y < maxY + 1 && // Include maxY block boundary
+               z >= minZ && z < maxZ + 1;   // Include maxZ block boundary
+    }
+
+    public boolean containsBlock(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    public boolean contains(Location loc) {
+        World locWorld = loc.getWorld();
+        return locWorld != null && locWorld.getUID().equals(worldId) && contains(loc.getX(), loc.getY(), loc.getZ());
+    }
+
+    // Moves the location to the closest point inside the bounds. Mutates and returns the given location.
+    public Location clamp(Location loc) {
+        loc.setX(clamp(loc.getX(), minX, maxX + 1));
+        loc.setY(clamp(loc.getY(), minY, maxY + 1));
+        loc.setZ(clamp(loc.getZ(), minZ, maxZ + 1));
+        return loc;
+    }
+
+    private static double clamp(double value, int min, int maxExclusive) {
+        if (value < min) return min;
+        if (value >= maxExclusive) return Math.nextDown((double) maxExclusive);
+        return value;
+    }
+
+    public UUID getWorldId() { return worldId; }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+    public int getMinChunkX() { return minX >> 4; }
+    public int getMinChunkZ() { return minZ >> 4; }
+    public int getMaxChunkX() { return maxX >> 4; }
+    public int getMaxChunkZ() { return maxZ >> 4; }
+
+    // Widest horizontal side in chunks, i.e. how far a player at one edge needs to see to reach the other
+    public int getMaxExtentChunks() {
+        return (Math.max(maxX - minX, maxZ - minZ) + 1 + 15) >> 4;
+    }
+}
@@ -0,0 +1,155 @@
+package com.codella.skymasters.game;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.managers.ConfigManager;
+import com.codella.skymasters.utils.MessageBundle;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Batches an arena's chat broadcasts and sounds: everything raised during a tick is sent together on the next tick.
+// - eliminations queued back to back collapse into one "N players were eliminated" line
+// - identical sounds play once per tick
+// - with arena-broadcasts-per-second set, messages above the limit wait for the next second, where later
+//   eliminations can still merge into them
+// Messages are kept as key and arguments and rendered at flush once per message bundle in the arena,
+// each recipient gets the rendering for their locale.
+// Main thread only.
+class ArenaFeed {
+
+    private static final class Entry {
+        private final Component rendered; // Same for every locale, null for keyed messages
+        private final String key;
+        private final Placeholder[] args;
+        private final List<Entry> eliminations; // Null for plain messages
+        private final List<String> eliminated;
+
+        private Entry(Component rendered) {
+            this(rendered, null, null, false);
+        }
+
+        private Entry(String key, Placeholder[] args) {
+            this(null, key, args, false);
+        }
+
+        private Entry(Component rendered, String key, Placeholder[] args, boolean elimination) {
+            this.rendered = rendered;
+            this.key = key;
+            this.args = args;
+            this.eliminations = elimination ? new ArrayList<>(2) : null;
+            this.eliminated = elimination ? new ArrayList<>(2) : null;
+        }
+
+        private static Entry elimination(String key, Placeholder[] args, String victim) {
+            Entry entry = new Entry(null, null, null, true);
+            entry.add(key, args, victim);
+            return entry;
+        }
+
+        private void add(String key, Placeholder[] args, String victim) {
+            eliminations.add(new Entry(key, args));
+            eliminated.add(victim);
+        }
+    }
+
+    private final SkyMasters plugin;
+    private final Arena arena;
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final List<Sound> sounds = new ArrayList<>();
+    private boolean flushScheduled;
+    private int budgetSecond = -1;
+    private int sentThisSecond;
+
+    ArenaFeed(SkyMasters plugin, Arena arena) {
+        this.plugin = plugin;
+        this.arena = arena;
+    }
+
+    // A prefixed message from messages.yml
+    void message(String key, Placeholder... args) {
+        entries.add(new Entry(key, args));
+        scheduleFlush();
+    }
+
+    // Already rendered, sent as is to everyone
+    void message(Component message) {
+        entries.add(new Entry(message));
+        scheduleFlush();
+    }
+
+    void elimination(String key, String victim, Placeholder... args) {
+        Entry last = entries.peekLast();
+        if (last != null && last.eliminations != null) {
+            last.add(key, args, victim);
+        } else {
+            entries.add(Entry.elimination(key, args, victim));
+        }
+        scheduleFlush();
+    }
+
+    void sound(Sound sound) {
+        if (!sounds.contains(sound)) sounds.add(sound);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        for (Sound sound : sounds) {
+            arena.playSound(sound, Sound.Emitter.self());
+        }
+        sounds.clear();
+
+        int limit = plugin.getConfigManager().getArenaBroadcastsPerSecond();
+        int second = Bukkit.getCurrentTick() / 20;
+        if (second != budgetSecond) {
+            budgetSecond = second;
+            sentThisSecond = 0;
+        }
+        Map<MessageBundle, List<Player>> recipients = null;
+        while (!entries.isEmpty() && (limit <= 0 || sentThisSecond < limit)) {
+            if (recipients == null) recipients = groupByBundle();
+            Entry entry = entries.poll();
+            for (Map.Entry<MessageBundle, List<Player>> group : recipients.entrySet()) {
+                Component message = render(entry, group.getKey());
+                for (Player player : group.getValue()) {
+                    player.sendMessage(message);
+                }
+            }
+            sentThisSecond++;
+        }
+        if (!entries.isEmpty()) scheduleFlush(); // Over the limit, retry next tick
+    }
+
+    // Usually a single group, mixed-language arenas get one per language
+    private Map<MessageBundle, List<Player>> groupByBundle() {
+        ConfigManager config = plugin.getConfigManager();
+        Map<MessageBundle, List<Player>> groups = new IdentityHashMap<>(2);
+        for (Player player : arena.getRoster().getMembers()) {
+            groups.computeIfAbsent(config.getBundle(player.locale()), bundle -> new ArrayList<>()).add(player);
+        }
+        return groups;
+    }
+
+    private Component render(Entry entry, MessageBundle bundle) {
+        if (entry.eliminations == null) {
+            return entry.rendered != null ? entry.rendered : bundle.getPrefixedComponent(entry.key, entry.args);
+        }
+        if (entry.eliminations.size() == 1) return render(entry.eliminations.get(0), bundle);
+        return bundle.getPrefixedComponent("players-eliminated-multiple",
+                Placeholder.of("count", entry.eliminated.size()), Placeholder.of("players", String.join(", ", entry.eliminated)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.codella.skymasters.game;
+
+import com.codella.skymasters.utils.LocationUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.*;
+
+// Spatial index: world UUID -> packed chunk key -> arenas overlapping that chunk.
+// A lookup is one map probe plus a bounds check, no matter how many arenas exist.
+// Rebuilt as a whole (on load, setup and enable) and swapped in, so readers never see a half-built index.
+public class ArenaIndex {
+
+    private static final Arena[] NONE = new Arena[0];
+
+    private volatile Map<UUID, Map<Long, Arena[]>> worlds = Collections.emptyMap();
+
+    public void rebuild(Collection<Arena> arenas) {
+        Map<UUID, Map<Long, List<Arena>>> building = new HashMap<>();
+        for (Arena arena : arenas) {
+            ArenaBounds bounds = arena.getBounds();
+            if (bounds == null) continue;
+            Map<Long, List<Arena>> chunks = building.computeIfAbsent(bounds.getWorldId(), id -> new HashMap<>());
+            for (int chunkX = bounds.getMinChunkX(); chunkX <= bounds.getMaxChunkX(); chunkX++) {
+                for (int chunkZ = bounds.getMinChunkZ(); chunkZ <= bounds.getMaxChunkZ(); chunkZ++) {
+                    chunks.computeIfAbsent(LocationUtil.chunkKey(chunkX, chunkZ), key -> new ArrayList<>(1)).add(arena);
+                }
+            }
+        }
+
+        Map<UUID, Map<Long, Arena[]>> built = new HashMap<>();
+        building.forEach((worldId, chunks) -> {
+            Map<Long, Arena[]> packed = new HashMap<>(chunks.size() * 2);
+            chunks.forEach((key, list) -> packed.put(key, list.toArray(NONE)));
+            built.put(worldId, packed);
+        });
+        worlds = built;
+    }
+
+    public Arena getArenaAt(Location location) {
+        if (location == null) return null;
+        World world = location.getWorld();
+        if (world == null) return null;
+        return getArenaAt(world, location.getX(), location.getY(), location.getZ());
+    }
+
+    public Arena getArenaAt(World world, double x, double y, double z) {
+        Map<Long, Arena[]> chunks = worlds.get(world.getUID());
+        if (chunks == null) return null;
+        Arena[] candidates = chunks.get(LocationUtil.chunkKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4));
+        if (candidates == null) return null;
+        for (Arena arena : candidates) {
+            ArenaBounds bounds = arena.getBounds();
+            if (bounds != null && bounds.contains(x, y, z)) return arena;
+        }
+        return null;
+    }
+
+    public Arena getArenaAt(Block block) {
+        Map<Long, Arena[]> chunks = worlds.get(block.getWorld().getUID());
+        if (chunks == null) return null;
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        Arena[] candidates = chunks.get(LocationUtil.chunkKey(x >> 4, z >> 4));
+        if (candidates == null) return null;
+        for (Arena arena : candidates) {
+            ArenaBounds bounds = arena.getBounds();
+            if (bounds != null && bounds.containsBlock(x, y, z)) return arena;
+        }
+        return null;
+    }
+
+    public boolean hasArenas(World world) {
+        return worlds.containsKey(world.getUID());
+    }
+
+    public boolean isEmpty() {
+        return worlds.isEmpty();
+    }
+}
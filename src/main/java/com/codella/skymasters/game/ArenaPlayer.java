@@ -0,0 +1,97 @@
+package com.codella.skymasters.game;
+
+import org.bukkit.event.entity.EntityDamageEvent;
+
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+// Per-participant match state, created when a player joins an arena (as player or spectator) and dropped when they leave.
+// Looked up once per event through ArenaManager instead of several per-feature maps.
+public class ArenaPlayer {
+
+    private static final int RECENT_DAMAGERS = 4; // Power of two, ring index is masked
+    private static final EntityDamageEvent.DamageCause[] CAUSES = EntityDamageEvent.DamageCause.values();
+
+    private final UUID uuid;
+    private final Arena arena;
+    private ArenaRoster.Role role;
+    private Kit selectedKit;
+    private long invincibleUntilTick; // Server tick deadline, compared against Bukkit.getCurrentTick()
+    private int kills;
+    private double damageDealt;
+    private int hudOverlay = -1; // Overlay value last shown on the action bar by the HudManager, -1 = arena content
+    private boolean viewDistanceSaved; // The values below were recorded on joining
+    private int savedViewDistance = -1; // Player's own override before joining, -1 if they used the world's value
+    private int savedSendViewDistance = -1;
+    // Last players who hit this one, newest at damageHead - 1. Primitive arrays so recording a hit never allocates.
+    private final int[] damagerIds = new int[RECENT_DAMAGERS];
+    private final long[] damageTicks = new long[RECENT_DAMAGERS];
+    private final byte[] damageCauses = new byte[RECENT_DAMAGERS];
+    private int damageHead;
+    private int damageCount;
+
+    public ArenaPlayer(UUID uuid, Arena arena, ArenaRoster.Role role) {
+        this.uuid = uuid;
+        this.arena = arena;
+        this.role = role;
+    }
+
+    public boolean isInvincible(long currentTick) {
+        return currentTick < invincibleUntilTick;
+    }
+
+    public void addKill() { kills++; }
+    public void addDamageDealt(double damage) { damageDealt += damage; }
+
+    public void recordDamage(int damagerEntityId, long tick, EntityDamageEvent.DamageCause cause) {
+        damagerIds[damageHead] = damagerEntityId;
+        damageTicks[damageHead] = tick;
+        damageCauses[damageHead] = (byte) cause.ordinal();
+        damageHead = (damageHead + 1) & (RECENT_DAMAGERS - 1);
+        if (damageCount < RECENT_DAMAGERS) damageCount++;
+    }
+
+    // Newest recorded hit at or after sinceTick whose damager passes the filter, walking newest to oldest.
+    // Returns a slot for getDamagerId/getDamageCause, or -1.
+    public int findRecentDamage(long sinceTick, IntPredicate damagerFilter) {
+        for (int i = 1; i <= damageCount; i++) {
+            int slot = (damageHead - i) & (RECENT_DAMAGERS - 1);
+            if (damageTicks[slot] < sinceTick) return -1; // Older hits are older still
+            if (damagerFilter.test(damagerIds[slot])) return slot;
+        }
+        return -1;
+    }
+
+    public int getDamagerId(int slot) { return damagerIds[slot]; }
+    public EntityDamageEvent.DamageCause getDamageCause(int slot) { return CAUSES[damageCauses[slot]]; }
+
+    public void clearDamage() {
+        damageHead = 0;
+        damageCount = 0;
+    }
+
+    // --- Getters ---
+    public UUID getUniqueId() { return uuid; }
+    public Arena getArena() { return arena; }
+    public ArenaRoster.Role getRole() { return role; }
+    public boolean isSpectator() { return role == ArenaRoster.Role.SPECTATOR; }
+    public Kit getSelectedKit() { return selectedKit; }
+    public long getInvincibleUntilTick() { return invincibleUntilTick; }
+    public int getKills() { return kills; }
+    public double getDamageDealt() { return damageDealt; }
+    public int getHudOverlay() { return hudOverlay; }
+    public boolean hasSavedViewDistance() { return viewDistanceSaved; }
+    public int getSavedViewDistance() { return savedViewDistance; }
+    public int getSavedSendViewDistance() { return savedSendViewDistance; }
+
+    // --- Setters ---
+    public void setRole(ArenaRoster.Role role) { this.role = role; }
+    public void setSelectedKit(Kit selectedKit) { this.selectedKit = selectedKit; }
+    public void setInvincibleUntilTick(long invincibleUntilTick) { this.invincibleUntilTick = invincibleUntilTick; }
+    public void setHudOverlay(int hudOverlay) { this.hudOverlay = hudOverlay; }
+    public void setSavedViewDistance(int viewDistance, int sendViewDistance) {
+        this.viewDistanceSaved = true;
+        this.savedViewDistance = viewDistance;
+        this.savedSendViewDistance = sendViewDistance;
+    }
+}
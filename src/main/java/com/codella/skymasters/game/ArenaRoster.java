@@ -0,0 +1,136 @@
+package com.codella.skymasters.game;
+
+import com.google.common.collect.Iterables;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+// Live membership of one arena: Player references for iteration, indexed by UUID for O(1) membership checks.
+// Main thread only, except getSnapshot. Members are removed when they leave, are eliminated or quit, so everyone listed is online
+// and iterating needs neither a copy nor Bukkit.getPlayer lookups.
+public class ArenaRoster {
+
+    public enum Role { PLAYER, SPECTATOR }
+
+    // Immutable copy of the membership, republished on every change. Safe to read from any thread (async chat).
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(List.of(), List.of());
+
+        private final List<Player> players;
+        private final List<Player> spectators;
+        private final Set<UUID> spectatorIds;
+
+        private Snapshot(List<Player> players, List<Player> spectators) {
+            this.players = players;
+            this.spectators = spectators;
+            Set<UUID> ids = new HashSet<>();
+            for (Player spectator : spectators) ids.add(spectator.getUniqueId());
+            this.spectatorIds = Set.copyOf(ids);
+        }
+
+        public List<Player> getPlayers() { return players; }
+        public List<Player> getSpectators() { return spectators; }
+        public boolean isSpectator(UUID id) { return spectatorIds.contains(id); }
+    }
+
+    private final List<Player> players = new ArrayList<>();
+    private final List<Player> spectators = new ArrayList<>();
+    private final List<Player> playersView = Collections.unmodifiableList(players);
+    private final List<Player> spectatorsView = Collections.unmodifiableList(spectators);
+    private final Iterable<Player> membersView = Iterables.concat(playersView, spectatorsView);
+    private final Map<UUID, Integer> slots = new HashMap<>(); // UUID -> index in its role's list
+    private final Map<UUID, Role> roles = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public boolean addPlayer(Player player) {
+        return add(player, Role.PLAYER);
+    }
+
+    public boolean addSpectator(Player player) {
+        return add(player, Role.SPECTATOR);
+    }
+
+    private boolean add(Player player, Role role) {
+        UUID id = player.getUniqueId();
+        if (roles.containsKey(id)) return false;
+        List<Player> list = listFor(role);
+        slots.put(id, list.size());
+        roles.put(id, role);
+        list.add(player);
+        publish();
+        return true;
+    }
+
+    // Removes the member, returning the role it had or null if it wasn't in the roster
+    public Role remove(Player player) {
+        return remove(player.getUniqueId());
+    }
+
+    public Role remove(UUID id) {
+        Role role = roles.remove(id);
+        if (role == null) return null;
+        List<Player> list = listFor(role);
+        int slot = slots.remove(id);
+        // Swap the last member into the freed slot, order within a role carries no meaning
+        Player last = list.remove(list.size() - 1);
+        if (slot < list.size()) {
+            list.set(slot, last);
+            slots.put(last.getUniqueId(), slot);
+        }
+        publish();
+        return role;
+    }
+
+    public Role getRole(Player player) {
+        return roles.get(player.getUniqueId());
+    }
+
+    public boolean isPlayer(Player player) {
+        return roles.get(player.getUniqueId()) == Role.PLAYER;
+    }
+
+    public boolean isSpectator(Player player) {
+        return roles.get(player.getUniqueId()) == Role.SPECTATOR;
+    }
+
+    public boolean contains(Player player) {
+        return roles.containsKey(player.getUniqueId());
+    }
+
+    // Read-only live views. Copy them before removing members while iterating.
+    public List<Player> getPlayers() { return playersView; }
+    public List<Player> getSpectators() { return spectatorsView; }
+    public Iterable<Player> getMembers() { return membersView; } // Players, then spectators
+
+    public int getPlayerCount() { return players.size(); }
+    public int getSpectatorCount() { return spectators.size(); }
+    public boolean isEmpty() { return roles.isEmpty(); }
+
+    // Players first, then spectators. The action must not change the roster.
+    public void forEachMember(Consumer<Player> action) {
+        for (int i = 0; i < players.size(); i++) action.accept(players.get(i));
+        for (int i = 0; i < spectators.size(); i++) action.accept(spectators.get(i));
+    }
+
+    public void clear() {
+        players.clear();
+        spectators.clear();
+        slots.clear();
+        roles.clear();
+        publish();
+    }
+
+    // Lock-free view for off-thread readers, may lag the live lists by the change in progress
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private void publish() {
+        snapshot = roles.isEmpty() ? Snapshot.EMPTY : new Snapshot(List.copyOf(players), List.copyOf(spectators));
+    }
+
+    private List<Player> listFor(Role role) {
+        return role == Role.PLAYER ? players : spectators;
+    }
+}
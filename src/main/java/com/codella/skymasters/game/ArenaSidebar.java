@@ -0,0 +1,106 @@
+package com.codella.skymasters.game;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.List;
+
+// The arena sidebar: one Scoreboard per arena, shared by everyone in it.
+// Every line is a fixed invisible entry whose team prefix carries the text, so changing a line is one team update
+// instead of removing and re-adding a score. The arena asks for an update whenever something shown changes
+// (state, counts, countdown, clock, kills); requests are coalesced to once per tick and only changed lines are sent.
+// Main thread only.
+class ArenaSidebar {
+
+    private static final int MAX_LINES = 15; // Client limit
+    private static final String[] ENTRIES = new String[MAX_LINES];
+
+    static {
+        ChatColor[] colors = ChatColor.values(); // The 16 colors come first, each code is a unique blank entry
+        for (int i = 0; i < MAX_LINES; i++) {
+            ENTRIES[i] = colors[i].toString() + ChatColor.RESET;
+        }
+    }
+
+    private final SkyMasters plugin;
+    private final Arena arena;
+    private Scoreboard board; // Created for the first viewer
+    private Objective objective;
+    private final Team[] lines = new Team[MAX_LINES];
+    private final Component[] shown = new Component[MAX_LINES]; // Prefix last sent per line
+    private int shownCount;
+    private Component shownTitle;
+    private boolean updateScheduled;
+
+    ArenaSidebar(SkyMasters plugin, Arena arena) {
+        this.plugin = plugin;
+        this.arena = arena;
+    }
+
+    void show(Player player) {
+        if (!plugin.getConfigManager().isSidebarEnabled()) return;
+        if (board == null) create();
+        if (player.getScoreboard() != board) player.setScoreboard(board);
+        update();
+    }
+
+    // Back to the server scoreboard, unless something else replaced ours meanwhile
+    void hide(Player player) {
+        if (board != null && player.getScoreboard() == board) {
+            player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+    }
+
+    void update() {
+        if (board == null || updateScheduled || !plugin.isEnabled()) return; // Not while disabling, players are released
+        updateScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::apply);
+    }
+
+    private void create() {
+        board = Bukkit.getScoreboardManager().getNewScoreboard();
+        objective = board.registerNewObjective("skymasters", Criteria.DUMMY, Component.empty());
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        for (int i = 0; i < MAX_LINES; i++) {
+            lines[i] = board.registerNewTeam("line" + i);
+            lines[i].addEntry(ENTRIES[i]);
+        }
+    }
+
+    private void apply() {
+        updateScheduled = false;
+        if (arena.getRoster().isEmpty()) return; // Nobody watching, the next viewer asks again
+
+        Component title = plugin.getConfigManager().getMessageComponent("sidebar-title", Placeholder.of("arena", arena.getName()));
+        if (!title.equals(shownTitle)) {
+            objective.displayName(title);
+            shownTitle = title;
+        }
+
+        List<Component> content = arena.buildSidebarLines();
+        int count = Math.min(content.size(), MAX_LINES);
+        for (int i = 0; i < count; i++) {
+            Component line = content.get(i);
+            if (!line.equals(shown[i])) {
+                lines[i].prefix(line);
+                shown[i] = line;
+            }
+            if (i >= shownCount) {
+                objective.getScore(ENTRIES[i]).setScore(MAX_LINES - i); // Fixed scores keep the order when lines come and go
+            }
+        }
+        for (int i = count; i < shownCount; i++) {
+            board.resetScores(ENTRIES[i]); // The team keeps its prefix, reusing the line later may send nothing
+        }
+        shownCount = count;
+    }
+}
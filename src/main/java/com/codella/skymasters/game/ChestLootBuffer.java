@@ -0,0 +1,113 @@
+package com.codella.skymasters.game;
+
+import com.codella.skymasters.SkyMasters;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+// Double buffer for chest refill contents.
+// The back buffer (next refill) is generated on an async worker while the front buffer is being applied,
+// so the main thread only copies ready arrays into inventories at refill time.
+// Every refill round is derived from the match seed, so the same seed always yields the same loot.
+public class ChestLootBuffer {
+
+    public static final int CHEST_SIZE = 27; // Single chest block inventory
+
+    private final SkyMasters plugin;
+    private final LootTable[] lootTables; // Indexed by ChestTier ordinal
+
+    // Main thread only
+    private SplittableRandom matchRandom;
+    private long matchSeed;
+    private byte[] chestTiers = new byte[0]; // Never modified in place, safe to hand to the worker
+    private long backRoundSeed;
+    private CompletableFuture<ItemStack[][]> back; // Next round, generated off-thread
+    private ItemStack[][] front; // Round currently applied to the chests
+
+    public ChestLootBuffer(SkyMasters plugin, LootTable[] lootTables) {
+        this.plugin = plugin;
+        this.lootTables = lootTables;
+    }
+
+    // Starts a new match: resets the random sequence and begins generating the first refill.
+    public void reset(long seed, byte[] chestTiers) {
+        if (back != null) back.cancel(false);
+        this.matchSeed = seed;
+        this.matchRandom = new SplittableRandom(seed);
+        this.chestTiers = chestTiers;
+        this.front = null;
+        prepareNext();
+    }
+
+    // Ends the match: drops pending rounds, so the next match has to reset() with a new seed
+    public void clear() {
+        if (back != null) back.cancel(false);
+        back = null;
+        front = null;
+        matchRandom = null;
+    }
+
+    public boolean isPrepared() {
+        return back != null;
+    }
+
+    // Swaps the buffers: returns the contents for this refill and starts generating the next one.
+    public ItemStack[][] take() {
+        if (back == null) {
+            reset(System.nanoTime(), chestTiers);
+        }
+        if (back.isDone() && !back.isCompletedExceptionally()) {
+            front = back.join();
+        } else {
+            // Worker has not finished (or not started yet). Async tasks are only dispatched by the main thread
+            // heartbeat, so never block on them here: generate the same round inline from its seed instead.
+            back.cancel(false);
+            front = generateRound(backRoundSeed, chestTiers);
+        }
+        prepareNext();
+        return front;
+    }
+
+    public void setChestTiers(byte[] chestTiers) {
+        boolean changed = this.chestTiers != chestTiers;
+        this.chestTiers = chestTiers;
+        if (changed && matchRandom != null) {
+            // Chests were reclassified (setup), regenerate the pending round for the new layout
+            if (back != null) back.cancel(false);
+            prepareNext();
+        }
+    }
+
+    public long getMatchSeed() { return matchSeed; }
+
+    private void prepareNext() {
+        long roundSeed = matchRandom.nextLong(); // Drawn on the main thread, keeps round order deterministic
+        byte[] tiers = chestTiers;
+        backRoundSeed = roundSeed;
+        CompletableFuture<ItemStack[][]> future = new CompletableFuture<>();
+        back = future;
+        if (!plugin.isEnabled()) {
+            future.complete(generateRound(roundSeed, tiers));
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            if (future.isDone()) return; // Cancelled before we got to it
+            try {
+                future.complete(generateRound(roundSeed, tiers));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+    }
+
+    private ItemStack[][] generateRound(long roundSeed, byte[] tiers) {
+        SplittableRandom roundRandom = new SplittableRandom(roundSeed);
+        ItemStack[][] contents = new ItemStack[tiers.length][];
+        for (int i = 0; i < tiers.length; i++) {
+            contents[i] = lootTables[tiers[i]].generate(roundRandom.split(), CHEST_SIZE);
+        }
+        return contents;
+    }
+}
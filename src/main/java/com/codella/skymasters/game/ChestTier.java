@@ -0,0 +1,26 @@
+package com.codella.skymasters.game;
+
+import java.util.Locale;
+
+// Loot tier of a chest, decided once per arena from its position. The ordinal indexes the loot tables.
+public enum ChestTier {
+    SPAWN, // On or next to a player spawn island
+    MID, // Between the spawn islands and the center
+    CENTER; // Middle island, best loot
+
+    private static final ChestTier[] VALUES = values();
+
+    public static ChestTier fromIndex(int index) {
+        return VALUES[index];
+    }
+
+    // Returns null for unknown names
+    public static ChestTier fromName(String name) {
+        if (name == null) return null;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.codella.skymasters.game;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.SplittableRandom;
+
+// Immutable loot table. Safe to use from worker threads: generation only depends on the random passed in.
+public class LootTable {
+
+    private final Material[] materials;
+    private final int[] minAmounts;
+    private final int[] maxAmounts;
+    private final int minItems;
+    private final int maxItems;
+
+    public LootTable(Material[] materials, int[] minAmounts, int[] maxAmounts, int minItems, int maxItems) {
+        this.materials = materials.clone();
+        this.minAmounts = minAmounts.clone();
+        this.maxAmounts = maxAmounts.clone();
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+    }
+
+    // Placeholder loot per tier, indexed by ChestTier ordinal - REPLACE WITH A REAL LOOT TABLE SYSTEM
+    public static LootTable[] createDefaults() {
+        LootTable[] tables = new LootTable[ChestTier.values().length];
+        tables[ChestTier.SPAWN.ordinal()] = new LootTable(
+                new Material[]{
+                        Material.STONE_SWORD, Material.STONE_AXE, Material.BOW, Material.ARROW, Material.COOKED_BEEF,
+                        Material.OAK_PLANKS, Material.COBBLESTONE, Material.WATER_BUCKET, Material.SNOWBALL,
+                        Material.CHAINMAIL_HELMET, Material.CHAINMAIL_CHESTPLATE, Material.CHAINMAIL_LEGGINGS, Material.CHAINMAIL_BOOTS
+                },
+                new int[]{1, 1, 1, 4, 2, 16, 16, 1, 4, 1, 1, 1, 1},
+                new int[]{1, 1, 1, 8, 4, 32, 32, 1, 8, 1, 1, 1, 1},
+                3, 6);
+        tables[ChestTier.MID.ordinal()] = new LootTable(
+                new Material[]{
+                        Material.STONE_SWORD, Material.IRON_SWORD, Material.BOW, Material.ARROW,
+                        Material.COOKED_BEEF, Material.GOLDEN_APPLE, Material.OAK_PLANKS, Material.COBBLESTONE,
+                        Material.WATER_BUCKET, Material.LAVA_BUCKET, Material.IRON_HELMET, Material.IRON_CHESTPLATE,
+                        Material.IRON_LEGGINGS, Material.IRON_BOOTS
+                },
+                new int[]{1, 1, 1, 8, 2, 1, 16, 16, 1, 1, 1, 1, 1, 1},
+                new int[]{1, 1, 1, 16, 4, 1, 32, 32, 1, 1, 1, 1, 1, 1},
+                3, 6); // Place 3-6 items
+        tables[ChestTier.CENTER.ordinal()] = new LootTable(
+                new Material[]{
+                        Material.IRON_SWORD, Material.DIAMOND_SWORD, Material.BOW, Material.ARROW, Material.ENDER_PEARL,
+                        Material.GOLDEN_APPLE, Material.COOKED_BEEF, Material.LAVA_BUCKET, Material.TNT,
+                        Material.DIAMOND_HELMET, Material.DIAMOND_CHESTPLATE, Material.DIAMOND_LEGGINGS, Material.DIAMOND_BOOTS
+                },
+                new int[]{1, 1, 1, 16, 1, 1, 4, 1, 2, 1, 1, 1, 1},
+                new int[]{1, 1, 1, 32, 2, 3, 8, 1, 4, 1, 1, 1, 1},
+                4, 7);
+        return tables;
+    }
+
+    // Generates one chest's contents. Same random state in -> same contents out.
+    public ItemStack[] generate(SplittableRandom random, int size) {
+        ItemStack[] contents = new ItemStack[size];
+        int itemsToPlace = Math.min(size, random.nextInt(minItems, maxItems + 1));
+
+        for (int i = 0; i < itemsToPlace; i++) {
+            int slot;
+            int attempts = 0;
+            do {
+                slot = random.nextInt(size);
+                attempts++;
+            } while (contents[slot] != null && attempts < size * 2); // Find an empty slot, limit attempts
+
+            if (contents[slot] == null) {
+                int entry = random.nextInt(materials.length);
+                int amount = minAmounts[entry] == maxAmounts[entry] ? minAmounts[entry] : random.nextInt(minAmounts[entry], maxAmounts[entry] + 1);
+                contents[slot] = new ItemStack(materials[entry], amount);
+            }
+        }
+        return contents;
+    }
+}
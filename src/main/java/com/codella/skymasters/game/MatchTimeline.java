@@ -0,0 +1,99 @@
+package com.codella.skymasters.game;
+
+import com.codella.skymasters.managers.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+// Declarative list of events that happen during a match, in seconds after the game starts.
+// Entries are written as "<EVENT>@<seconds>", e.g. "REFILL@180" or "DEATHMATCH@480".
+public class MatchTimeline {
+
+    public enum EventType {
+        REFILL, // Refill all chests
+        ANNOUNCE, // Announce the remaining game time
+        DEATHMATCH // Move remaining players to the arena center
+    }
+
+    public static final class Event {
+        private final EventType type;
+        private final int second;
+
+        public Event(EventType type, int second) {
+            this.type = type;
+            this.second = second;
+        }
+
+        public EventType getType() { return type; }
+        public int getSecond() { return second; }
+    }
+
+    private final List<Event> events; // Sorted by second
+
+    private MatchTimeline(List<Event> events) {
+        events.sort(Comparator.comparingInt(Event::getSecond));
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    public static MatchTimeline parse(List<String> entries, Logger logger) {
+        List<Event> events = new ArrayList<>();
+        for (String entry : entries) {
+            String[] parts = entry.split("@");
+            if (parts.length != 2) {
+                logger.warning("Invalid timeline entry '" + entry + "' (expected EVENT@seconds). Skipping.");
+                continue;
+            }
+            try {
+                EventType type = EventType.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+                int second = Integer.parseInt(parts[1].trim());
+                if (second > 0) {
+                    events.add(new Event(type, second));
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid timeline entry '" + entry + "'. Skipping.");
+            }
+        }
+        return new MatchTimeline(events);
+    }
+
+    // Global timeline: "timeline" from config.yml, or one built from the refill, announcement and deathmatch settings
+    public static MatchTimeline fromConfig(ConfigManager config, Logger logger) {
+        List<String> entries = config.getTimelineEntries();
+        if (!entries.isEmpty()) {
+            return parse(entries, logger);
+        }
+
+        List<Event> events = new ArrayList<>();
+        int firstRefill = config.getChestRefillTimeSeconds();
+        int secondRefill = config.getChestRefillTimeSeconds2(); // Counted from the first refill
+        if (firstRefill > 0) {
+            events.add(new Event(EventType.REFILL, firstRefill));
+            if (secondRefill > 0) {
+                events.add(new Event(EventType.REFILL, firstRefill + secondRefill));
+            }
+        }
+
+        int timeLimit = config.getGameTimeLimitSeconds();
+        if (timeLimit > 0) {
+            for (int secondsLeft : config.getTimeAnnouncements()) {
+                if (secondsLeft > 0 && secondsLeft < timeLimit) {
+                    events.add(new Event(EventType.ANNOUNCE, timeLimit - secondsLeft));
+                }
+            }
+        }
+
+        int deathmatch = config.getDeathmatchTimeSeconds();
+        if (deathmatch > 0 && (timeLimit <= 0 || deathmatch < timeLimit)) {
+            events.add(new Event(EventType.DEATHMATCH, deathmatch));
+        }
+        return new MatchTimeline(events);
+    }
+}
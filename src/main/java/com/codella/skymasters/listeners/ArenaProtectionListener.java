@@ -0,0 +1,233 @@
+package com.codella.skymasters.listeners;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.GameState;
+import com.codella.skymasters.managers.ArenaManager;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.Directional;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+import java.util.List;
+
+// Protects arenas from block changes that don't come from a player breaking or placing a block:
+// liquids, pistons, explosions, fire, spreading blocks, leaf decay and dispensers.
+// Changes crossing an arena boundary are always cancelled. Inside a running match they are allowed and journaled
+// for PARTIAL regeneration. Arenas outside IN_GAME are frozen: physics, growth, decay and redstone inside them stop,
+// so leftovers from the last match don't keep ticking or changing the map after a reset.
+// Every handler bails out after a single world lookup when the world has no arenas.
+public class ArenaProtectionListener implements Listener {
+
+    private final SkyMasters plugin;
+
+    public ArenaProtectionListener(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onLiquidFlow(BlockFromToEvent event) {
+        Block from = event.getBlock();
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(from.getWorld())) return;
+
+        if (denyChange(arenaManager.getArenaAt(from), event.getToBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        if (denyPistonMove(event.getBlock(), event.getBlocks(), event.getDirection(), true)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        if (denyPistonMove(event.getBlock(), event.getBlocks(), event.getDirection(), false)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(event.getLocation().getWorld())) return;
+        filterExplosion(arenaManager.getArenaAt(event.getLocation()), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(event.getBlock().getWorld())) return;
+        filterExplosion(arenaManager.getArenaAt(event.getBlock()), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        Block block = event.getBlock();
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(block.getWorld())) return;
+
+        // The igniting block is unknown for some fire sources, treat the burning block as its own source then
+        Block source = event.getIgnitingBlock() != null ? event.getIgnitingBlock() : block;
+        if (denyChange(arenaManager.getArenaAt(source), block)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockSpread(BlockSpreadEvent event) {
+        Block block = event.getBlock();
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(block.getWorld())) return;
+
+        if (denyChange(arenaManager.getArenaAt(event.getSource()), block)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        Block block = event.getBlock();
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(block.getWorld())) return;
+
+        Arena arena = arenaManager.getArenaAt(block);
+        if (arena != null && !allowChange(arena, block)) {
+            event.setCancelled(true);
+        }
+    }
+
+    // --- Idle arena freeze ---
+
+    // Highest frequency event of all, keep this path to the index lookup and a state read
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockPhysics(BlockPhysicsEvent event) {
+        if (isFrozen(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        if (isFrozen(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    // Ice/snow melting, coral dying, fire burning out, farmland drying
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        if (!isFrozen(event.getBlock())) {
+            journalInMatch(event.getBlock());
+            return;
+        }
+        event.setCancelled(true);
+    }
+
+    // Obsidian/cobblestone from liquids, snow and ice forming (spreading is handled separately)
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) {
+        if (!isFrozen(event.getBlock())) {
+            journalInMatch(event.getBlock());
+            return;
+        }
+        event.setCancelled(true);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        if (isFrozen(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onMoistureChange(MoistureChangeEvent event) {
+        if (isFrozen(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    // Not cancellable, hold the current instead
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onRedstone(BlockRedstoneEvent event) {
+        if (event.getNewCurrent() != event.getOldCurrent() && isFrozen(event.getBlock())) {
+            event.setNewCurrent(event.getOldCurrent());
+        }
+    }
+
+    // Dispensers placing liquids or blocks in front of them
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onDispense(BlockDispenseEvent event) {
+        Block dispenser = event.getBlock();
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(dispenser.getWorld())) return;
+        if (!(dispenser.getBlockData() instanceof Directional directional)) return;
+
+        if (denyChange(arenaManager.getArenaAt(dispenser), dispenser.getRelative(directional.getFacing()))) {
+            event.setCancelled(true);
+        }
+    }
+
+    // --- Helpers ---
+
+    // True if a change caused from inside source (null = outside any arena) to the target block must be cancelled.
+    // Allowed changes inside a running match are journaled.
+    private boolean denyChange(Arena source, Block target) {
+        Arena arena = plugin.getArenaManager().getArenaAt(target);
+        if (arena != source) {
+            return true; // Crossing an arena boundary
+        }
+        return arena != null && !allowChange(arena, target);
+    }
+
+    private boolean denyPistonMove(Block piston, List<Block> moved, BlockFace direction, boolean extending) {
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(piston.getWorld())) return false;
+
+        Arena source = arenaManager.getArenaAt(piston);
+        if (extending && denyChange(source, piston.getRelative(direction))) return true; // Piston head
+        for (Block block : moved) {
+            // Both the block's old position and the one it is pushed/pulled into change
+            if (denyChange(source, block) || denyChange(source, block.getRelative(direction))) return true;
+        }
+        return false;
+    }
+
+    private void filterExplosion(Arena source, List<Block> blocks) {
+        if (blocks.isEmpty()) return;
+        blocks.removeIf(block -> denyChange(source, block));
+    }
+
+    // Environmental changes are part of the match while it runs, any other state is frozen
+    private boolean allowChange(Arena arena, Block block) {
+        if (arena.getState() == GameState.IN_GAME) {
+            arena.journalBlock(block);
+            return true;
+        }
+        return false;
+    }
+
+    // True if the block lies in an arena that is not running a match. Worlds whose arenas are all in game
+    // (or that have none) answer from one set lookup, before any chunk lookup.
+    private boolean isFrozen(Block block) {
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasFrozenArenasInWorld(block.getWorld())) return false;
+        Arena arena = arenaManager.getArenaAt(block);
+        return arena != null && arena.getState() != GameState.IN_GAME;
+    }
+
+    private void journalInMatch(Block block) {
+        ArenaManager arenaManager = plugin.getArenaManager();
+        if (!arenaManager.hasArenasInWorld(block.getWorld())) return;
+        Arena arena = arenaManager.getArenaAt(block);
+        if (arena != null) arena.journalBlock(block); // No-op unless a PARTIAL match is running
+    }
+}
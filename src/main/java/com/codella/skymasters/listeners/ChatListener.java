@@ -0,0 +1,62 @@
+package com.codella.skymasters.listeners;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.ArenaRoster;
+import com.codella.skymasters.managers.ConfigManager;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.Set;
+
+// Per-arena chat channels. Runs on the async chat thread: it only reads the concurrent participant map,
+// the arena's immutable roster snapshot and volatile config values, and never waits on the main thread.
+public class ChatListener implements Listener {
+
+    private final SkyMasters plugin;
+
+    public ChatListener(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onChat(AsyncChatEvent event) {
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isArenaChatEnabled()) return;
+        Player sender = event.getPlayer();
+        Arena arena = plugin.getArenaManager().getPlayerArena(sender);
+        if (arena == null) return; // Regular server chat
+
+        // Global shout: strip the prefix and leave the viewers untouched
+        String shoutPrefix = config.getChatShoutPrefix();
+        if (!shoutPrefix.isEmpty()) {
+            String plain = PlainTextComponentSerializer.plainText().serialize(event.message());
+            if (plain.startsWith(shoutPrefix) && plain.length() > shoutPrefix.length()) {
+                Component message = event.message().replaceText(builder -> builder.matchLiteral(shoutPrefix).once().replacement(""));
+                event.message(config.getChatShoutTag().append(message));
+                return;
+            }
+        }
+
+        ArenaRoster.Snapshot roster = arena.getRoster().getSnapshot();
+        Set<Audience> viewers = event.viewers();
+        viewers.clear();
+        viewers.add(Bukkit.getConsoleSender());
+        viewers.add(sender); // Also covers the short gap between elimination and becoming a spectator
+        if (roster.isSpectator(sender.getUniqueId())) {
+            // Spectators only talk among themselves, so they can't feed information to the living
+            viewers.addAll(roster.getSpectators());
+            event.message(config.getChatSpectatorTag().append(event.message()));
+        } else {
+            viewers.addAll(roster.getPlayers());
+            viewers.addAll(roster.getSpectators());
+        }
+    }
+}
@@ -11,10 +11,14 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
-import org.bukkit.event.entity.CreatureSpawnEvent; // Correct import for SpawnReason
-import org.bukkit.event.entity.EntitySpawnEvent;
-import org.bukkit.event.weather.WeatherChangeEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.DoubleChestInventory;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.Location;
 
 import java.util.Set; // Added missing import
@@ -36,11 +40,11 @@ public class GameListener implements Listener {
 
         if (arena == null) {
             // Player isn't participating, check if breaking inside *any* arena bounds
-            arena = findArenaAtLocation(event.getBlock().getLocation());
+            arena = plugin.getArenaManager().getArenaAt(event.getBlock());
              if (arena != null && arena.getState() != GameState.DISABLED && !player.hasPermission("skymasters.admin.bypass")) {
                  // Protect arena blocks even from non-participants unless bypassed
                  event.setCancelled(true);
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-modify-arena"));
+                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-modify-arena"));
                  return;
              } else {
                  // Allow bypass or not inside an arena
@@ -54,7 +58,7 @@ public class GameListener implements Listener {
             // Spectators or players in non-game states cannot break blocks
             event.setCancelled(true);
              if(arena.isSpectator(player)) {
-                player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-interact-spectator"));
+                player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-interact-spectator"));
              }
         } else {
             // Player is in game - Allow breaking.
@@ -73,10 +77,10 @@ public class GameListener implements Listener {
 
         if (arena == null) {
              // Protect arena bounds from outside placement too
-             arena = findArenaAtLocation(event.getBlock().getLocation());
+             arena = plugin.getArenaManager().getArenaAt(event.getBlock());
              if (arena != null && arena.getState() != GameState.DISABLED && !player.hasPermission("skymasters.admin.bypass")) {
                  event.setCancelled(true);
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-modify-arena"));
+                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-modify-arena"));
                  return;
              } else {
                   // Allow bypass or not inside an arena
@@ -89,68 +93,83 @@ public class GameListener implements Listener {
             // Spectators or players in non-game states cannot place blocks
             event.setCancelled(true);
              if(arena.isSpectator(player)) {
-                player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-interact-spectator"));
+                player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-interact-spectator"));
              }
         } else {
             // Player is in game
             // Track placed block for PARTIAL regeneration
              arena.addPlayerPlacedBlock(blockPlaced.getLocation());
+             arena.journalBlock(blockPlaced, event.getBlockReplacedState().getBlockData()); // e.g. water or grass replaced by the block
         }
     }
 
 
-    // Prevent natural mob spawning if configured
-     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
-     public void onEntitySpawn(EntitySpawnEvent event) {
-         if (!plugin.getConfigManager().isNaturalMobSpawningEnabled()) {
-             Arena arena = findArenaAtLocation(event.getLocation());
-             // Check if it's a "natural" spawn
-              boolean isNatural = event instanceof CreatureSpawnEvent &&
-                                 ((CreatureSpawnEvent) event).getSpawnReason() == CreatureSpawnEvent.SpawnReason.NATURAL;
+     // --- Lazy chest filling: materialise pending chest contents when something touches the chest ---
 
-             if (arena != null && arena.getState() != GameState.DISABLED && isNatural) {
-                  // We are inside an arena and natural spawning is disabled in config & it's a natural spawn
-                  event.setCancelled(true);
-              }
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+     public void onChestOpen(InventoryOpenEvent event) {
+         if (event.getInventory().getType() != InventoryType.CHEST) return;
+         fillPendingChests(event.getInventory());
+     }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+     public void onHopperPull(InventoryMoveItemEvent event) {
+         if (event.getSource().getType() != InventoryType.CHEST) return;
+         fillPendingChests(event.getSource());
+     }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+     public void onChestBreak(BlockBreakEvent event) {
+         fillPendingChest(event.getBlock()); // Before drops are collected
+     }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+     public void onEntityExplode(EntityExplodeEvent event) {
+         for (Block block : event.blockList()) {
+             fillPendingChest(block);
          }
      }
 
-     // Prevent weather changes within arena worlds? (Optional, might be better per-player)
-    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
-     public void onWeatherChange(WeatherChangeEvent event) {
-         // Only cancel if changing *to* rain/storm
-         if (!event.toWeatherState()) {
-             return;
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+     public void onBlockExplode(BlockExplodeEvent event) {
+         for (Block block : event.blockList()) {
+             fillPendingChest(block);
          }
+     }
 
-         boolean worldHasActiveArena = false;
-         for (Arena arena : plugin.getArenaManager().getAllArenas()) {
-             // Check if the arena is active (not disabled, not regenerating) and in this world
-             if (arena.getState() != GameState.DISABLED && arena.getState() != GameState.REGENERATING &&
-                 arena.getWorld() != null && arena.getWorld().equals(event.getWorld())) {
-                 worldHasActiveArena = true;
-                 break;
-              }
+     private void fillPendingChests(Inventory inventory) {
+         if (!plugin.getConfigManager().isLazyChestFilling()) return;
+         if (inventory instanceof DoubleChestInventory) {
+             DoubleChestInventory doubleChest = (DoubleChestInventory) inventory;
+             fillPendingChest(doubleChest.getLeftSide().getLocation());
+             fillPendingChest(doubleChest.getRightSide().getLocation());
+         } else {
+             fillPendingChest(inventory.getLocation());
          }
+     }
+
+     private void fillPendingChest(Block block) {
+         Material type = block.getType();
+         if (type != Material.CHEST && type != Material.TRAPPED_CHEST) return;
+         if (!plugin.getConfigManager().isLazyChestFilling()) return;
+         Arena arena = plugin.getArenaManager().getArenaAt(block);
+         if (arena != null && arena.hasPendingChests()) {
+             arena.fillPendingChest(block);
+         }
+     }
 
-         if (worldHasActiveArena) {
-              event.setCancelled(true);
+     private void fillPendingChest(Location location) {
+         if (location == null) return;
+         Arena arena = findArenaAtLocation(location);
+         if (arena != null && arena.hasPendingChests()) {
+             arena.fillPendingChest(location.getBlock());
          }
      }
 
 
-     // Helper method to find an arena containing a specific location
+     // Helper method to find an arena containing a specific location (spatial index lookup)
      private Arena findArenaAtLocation(Location location) {
-         if (location == null) return null;
-         for (Arena arena : plugin.getArenaManager().getAllArenas()) {
-              // Check world first for efficiency
-              if (arena.getWorld() != null && arena.getWorld().equals(location.getWorld())) {
-                 if (arena.isWithinBounds(location)) {
-                     return arena;
-                 }
-             }
-         }
-         return null;
+         return plugin.getArenaManager().getArenaAt(location);
      }
 
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.codella.skymasters.listeners;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.events.ArenaPlayerCountChangeEvent;
+import com.codella.skymasters.events.ArenaStateChangeEvent;
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.managers.LobbyDisplayManager;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.SignChangeEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.inventory.EquipmentSlot;
+
+// Join signs and the arena selector. Display updates are driven by arena events, never by polling.
+public class LobbyListener implements Listener {
+
+    private final SkyMasters plugin;
+
+    public LobbyListener(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler
+    public void onArenaStateChange(ArenaStateChangeEvent event) {
+        plugin.getLobbyDisplayManager().arenaChanged(event.getArena());
+    }
+
+    @EventHandler
+    public void onArenaPlayerCountChange(ArenaPlayerCountChangeEvent event) {
+        plugin.getLobbyDisplayManager().arenaChanged(event.getArena());
+    }
+
+    // [skywars] / [sw] on the first line and the arena name on the second.
+    // MONITOR so protection plugins have had their say: a cancelled sign is never placed and must not be tracked.
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSignChange(SignChangeEvent event) {
+        if (event.isCancelled()) return;
+        Component header = event.line(0);
+        if (header == null) return;
+        String tag = PlainTextComponentSerializer.plainText().serialize(header).trim();
+        if (!tag.equalsIgnoreCase("[skywars]") && !tag.equalsIgnoreCase("[sw]")) return;
+        Player player = event.getPlayer();
+        if (!player.hasPermission("skymasters.admin")) return; // Just text for everyone else
+
+        Component nameLine = event.line(1);
+        String arenaName = nameLine == null ? "" : PlainTextComponentSerializer.plainText().serialize(nameLine).trim();
+        Component[] lines = plugin.getLobbyDisplayManager().createSign(event.getBlock(), arenaName);
+        if (lines == null) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "join-sign-unknown-arena", Placeholder.of("arena", arenaName)));
+            return;
+        }
+        for (int i = 0; i < lines.length; i++) {
+            event.line(i, lines[i]);
+        }
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "join-sign-created", Placeholder.of("arena", arenaName)));
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onSignClick(PlayerInteractEvent event) {
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK || event.getHand() != EquipmentSlot.HAND) return;
+        Block block = event.getClickedBlock();
+        if (block == null) return;
+        String arenaName = plugin.getLobbyDisplayManager().getSignArena(block);
+        if (arenaName == null) return;
+        event.setCancelled(true); // No sign editor
+        Arena arena = plugin.getArenaManager().getArena(arenaName);
+        if (arena == null) return; // Arena deleted, the sign is left until broken
+        plugin.getArenaManager().joinArena(event.getPlayer(), arena);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onSignBreak(BlockBreakEvent event) {
+        LobbyDisplayManager lobby = plugin.getLobbyDisplayManager();
+        if (lobby.getSignArena(event.getBlock()) == null) return;
+        Player player = event.getPlayer();
+        if (!player.hasPermission("skymasters.admin")) {
+            event.setCancelled(true);
+            return;
+        }
+        lobby.removeSign(event.getBlock());
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "join-sign-removed"));
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onSelectorClick(InventoryClickEvent event) {
+        if (!(event.getView().getTopInventory().getHolder() instanceof LobbyDisplayManager.SelectorHolder)) return;
+        event.setCancelled(true); // The menu is shared, nothing may be taken or put in
+        if (!(event.getWhoClicked() instanceof Player player)) return;
+        if (event.getClickedInventory() != event.getView().getTopInventory()) return;
+        String arenaName = plugin.getLobbyDisplayManager().getSelectorArena(event.getSlot());
+        if (arenaName == null) return;
+        player.closeInventory();
+        // Joining teleports, which must not happen inside the click handler
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Arena arena = plugin.getArenaManager().getArena(arenaName);
+            if (arena != null && player.isOnline()) plugin.getArenaManager().joinArena(player, arena);
+        });
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onSelectorDrag(InventoryDragEvent event) {
+        if (event.getView().getTopInventory().getHolder() instanceof LobbyDisplayManager.SelectorHolder) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (plugin.getLobbyDisplayManager().hasSigns()) plugin.getLobbyDisplayManager().chunkLoaded(event.getChunk());
+    }
+}
@@ -2,21 +2,28 @@ package com.codella.skymasters.listeners;
 
 import com.codella.skymasters.SkyMasters;
 import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.ArenaBounds;
+import com.codella.skymasters.game.ArenaPlayer;
 import com.codella.skymasters.game.GameState;
 import com.codella.skymasters.game.Kit;
+import com.codella.skymasters.utils.Placeholder;
+import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.*;
 
-import java.util.Map;
 
 public class PlayerListener implements Listener {
 
@@ -29,9 +36,9 @@ public class PlayerListener implements Listener {
     // Handle player joining the server
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        // Reset player state if needed (e.g., if they crashed mid-game previously)
-        // This is complex, might need persistent storage of player state if necessary.
-        // For now, we assume they are not in an arena on login.
+        // Players are never in an arena on login, but may have a snapshot left from a crash mid-game
+        plugin.getPlayerStateManager().recover(event.getPlayer());
+        plugin.getVisibilityManager().handleServerJoin(event.getPlayer()); // Newcomers don't see running arenas
     }
 
     // Handle player leaving the server
@@ -43,6 +50,11 @@ public class PlayerListener implements Listener {
         if (arena != null) {
             arena.removePlayer(player); // Arena handles logic (messages, state checks)
         }
+        // Reconcile here rather than during broadcasts, e.g. a player quitting between elimination and spectating
+        plugin.getArenaManager().forgetPlayer(player);
+        // Already out of the roster but not yet released, e.g. quitting in the ticks after a death
+        if (!plugin.getArenaManager().isParticipant(player)) plugin.getPlayerStateManager().restore(player);
+        plugin.getTeleportManager().completeNow(player); // Saved at their restored location, not inside the arena
         // If player was in setup mode, cancel it
         if (plugin.getSetupManager().isInSetupMode(player)) {
             plugin.getSetupManager().endSetup(player);
@@ -53,6 +65,7 @@ public class PlayerListener implements Listener {
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player player = event.getEntity();
+        if (!plugin.getArenaManager().isParticipant(player)) return;
         Arena arena = plugin.getArenaManager().getPlayerArena(player);
 
         if (arena != null && arena.getState() == GameState.IN_GAME) {
@@ -78,19 +91,21 @@ public class PlayerListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
+        boolean inSetup = plugin.getSetupManager().isInSetupMode(player);
+        if (!inSetup && !plugin.getArenaManager().isParticipant(player)) return; // Fast path for everyone else
         Arena arena = plugin.getArenaManager().getPlayerArena(player);
-        Material setupWand = plugin.getConfigManager().getSetupWandItem();
+        Material setupWand = plugin.getConfigManager().getSetupWandItem(); // Cached by ConfigManager
 
         // --- Spectator Interaction Prevention ---
          if (arena != null && arena.isSpectator(player)) {
              // Prevent all interactions for spectators
              event.setCancelled(true);
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("cannot-interact-spectator"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "cannot-interact-spectator"));
              return; // Don't process further for spectators
          }
 
         // --- Setup Wand Logic ---
-        if (plugin.getSetupManager().isInSetupMode(player) && event.getItem() != null && event.getItem().getType() == setupWand) {
+        if (inSetup && event.getItem() != null && event.getItem().getType() == setupWand) {
              Action action = event.getAction();
              Block clickedBlock = event.getClickedBlock();
 
@@ -145,6 +160,7 @@ public class PlayerListener implements Listener {
      public void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
          Player player = (Player) event.getWhoClicked();
+         if (!plugin.getArenaManager().isParticipant(player)) return;
          Arena arena = plugin.getArenaManager().getPlayerArena(player);
 
          if (arena != null && arena.isSpectator(player)) {
@@ -156,6 +172,7 @@ public class PlayerListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
      public void onPlayerDropItem(PlayerDropItemEvent event) {
          Player player = event.getPlayer();
+         if (!plugin.getArenaManager().isParticipant(player)) return;
          Arena arena = plugin.getArenaManager().getPlayerArena(player);
 
          if (arena != null && arena.isSpectator(player)) {
@@ -172,6 +189,7 @@ public class PlayerListener implements Listener {
      @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerPickupItem(PlayerAttemptPickupItemEvent event) {
         Player player = event.getPlayer();
+        if (!plugin.getArenaManager().isParticipant(player)) return;
         Arena arena = plugin.getArenaManager().getPlayerArena(player);
 
         if (arena != null && arena.isSpectator(player)) {
@@ -184,6 +202,7 @@ public class PlayerListener implements Listener {
     public void onFoodLevelChange(org.bukkit.event.entity.FoodLevelChangeEvent event) {
         if (!(event.getEntity() instanceof Player)) return;
         Player player = (Player) event.getEntity();
+        if (!plugin.getArenaManager().isParticipant(player)) return;
         Arena arena = plugin.getArenaManager().getPlayerArena(player);
 
         if (arena != null && arena.getState() != GameState.IN_GAME && !plugin.getConfigManager().isHungerLossEnabled()) {
@@ -201,21 +220,24 @@ public class PlayerListener implements Listener {
      public void onEntityDamage(org.bukkit.event.entity.EntityDamageEvent event) {
         if (!(event.getEntity() instanceof Player)) return;
         Player player = (Player) event.getEntity();
-        Arena arena = plugin.getArenaManager().getPlayerArena(player);
+        if (!plugin.getArenaManager().isParticipant(player)) return;
+        ArenaPlayer session = plugin.getArenaManager().getArenaPlayer(player); // Single lookup for arena, role and invincibility
 
-        if (arena != null) {
+        if (session != null) {
+            Arena arena = session.getArena();
+            boolean invincible = session.isInvincible(Bukkit.getCurrentTick());
             // Prevent fall damage if disabled globally or during invincibility
             if (event.getCause() == org.bukkit.event.entity.EntityDamageEvent.DamageCause.FALL) {
-                if (!plugin.getConfigManager().isFallDamageEnabled() || arena.hasInvincibility(player)) {
+                if (!plugin.getConfigManager().isFallDamageEnabled() || invincible) {
                      event.setCancelled(true);
                  }
              }
              // Prevent all damage during invincibility
-            else if (arena.hasInvincibility(player)) {
+            else if (invincible) {
                 event.setCancelled(true);
              }
              // Prevent all damage for spectators
-            else if (arena.isSpectator(player)){
+            else if (session.isSpectator()){
                  event.setCancelled(true);
             }
             // Prevent damage in lobby/starting phases (except void?)
@@ -226,23 +248,57 @@ public class PlayerListener implements Listener {
         }
      }
 
-      // Keep players inside world boundaries or arena boundaries?
-      // This is simple world boundary logic. Arena specific boundary might be better.
-    // @EventHandler
-    // public void onPlayerMove(PlayerMoveEvent event) {
-    //     Player player = event.getPlayer();
-    //     Arena arena = plugin.getArenaManager().getPlayerArena(player);
-    //     if (arena != null && arena.getCorner1() != null && arena.getCorner2() != null) {
-    //         if (!arena.isWithinBounds(event.getTo())) {
-    //              // What to do? Teleport back? Damage (void)?
-    //              // Simplest: Teleport back to previous location
-    //              Location from = event.getFrom();
-    //              player.teleport(from); // Teleport back instantly
-    //              // Or maybe teleport to spectator spawn if falling out?
-    //              // player.teleport(arena.getSpectatorSpawn()); arena.handlePlayerDeath(player, null); // Treat as void death
-    //         }
-    //     }
-    // }
+    // Track damage dealt between players of the same match, and who hit whom for kill credit.
+    // Projectiles are credited to their shooter here only, snowballs and eggs included (they deal 0 damage),
+    // so one hit takes one slot of the attribution ring.
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerDamagePlayer(EntityDamageByEntityEvent event) {
+        if (!(event.getEntity() instanceof Player victim)) return;
+        if (!plugin.getArenaManager().isParticipant(victim)) return;
+
+        Player attacker = null;
+        if (event.getDamager() instanceof Player direct) {
+            attacker = direct;
+        } else if (event.getDamager() instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter) {
+            attacker = shooter;
+        }
+        if (attacker == null || attacker.equals(victim)) return;
+
+        ArenaPlayer victimSession = plugin.getArenaManager().getArenaPlayer(victim);
+        ArenaPlayer attackerSession = plugin.getArenaManager().getArenaPlayer(attacker);
+        if (victimSession != null && attackerSession != null && attackerSession.getArena() == victimSession.getArena()) {
+            attackerSession.addDamageDealt(event.getFinalDamage());
+            victimSession.recordDamage(attacker.getEntityId(), Bukkit.getCurrentTick(), event.getCause());
+        }
+    }
+
+    // Void elimination and spectator bounds. Runs for every movement packet, so the common path only compares
+    // block coordinates and must not allocate.
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) {
+            return; // Head rotation or movement within the same block
+        }
+        Player player = event.getPlayer();
+        if (!plugin.getArenaManager().isParticipant(player)) return;
+        Arena arena = plugin.getArenaManager().getPlayerArena(player);
+        if (arena == null) return;
+        ArenaBounds bounds = arena.getBounds();
+        if (bounds == null || !bounds.getWorldId().equals(to.getWorld().getUID())) return;
+
+        if (arena.getState() == GameState.IN_GAME && to.getY() < plugin.getConfigManager().getVoidEliminationY() && arena.isPlayer(player)) {
+            // Fell off: eliminate now instead of loading chunks all the way down to void damage
+            arena.handlePlayerDeath(player, null);
+            Location spectatorSpawn = arena.getSpectatorSpawn();
+            if (spectatorSpawn != null) {
+                event.setTo(spectatorSpawn); // Stop the fall, addSpectator takes over from here
+            }
+        } else if (!bounds.contains(to.getX(), to.getY(), to.getZ()) && arena.isSpectator(player)) {
+            event.setTo(bounds.clamp(to.clone())); // Spectators stay inside the arena box
+        }
+    }
 
 
     // Handle default kit application if enabled
@@ -254,9 +310,9 @@ public class PlayerListener implements Listener {
                 Kit defaultKit = plugin.getKitManager().getKit(plugin.getConfigManager().getDefaultKitName());
                 if (defaultKit != null) {
                      // Ensure player has permission for default kit? Or assume everyone does? Assume yes for now.
-                    arena.setSelectedKit(event.getPlayer().getUniqueId(), defaultKit);
+                    arena.setSelectedKit(event.getPlayer(), defaultKit);
                      // Don't give items immediately, just set selection. Items given at game start.
-                    event.getPlayer().sendMessage(plugin.getConfigManager().getPrefixedMessage("kit-selected", Map.of("kit", defaultKit.getName())));
+                    event.getPlayer().sendMessage(plugin.getConfigManager().getPrefixedMessage(event.getPlayer(), "kit-selected", Placeholder.of("kit", defaultKit.getName())));
                 } else {
                      plugin.getLogger().warning("Default kit '" + plugin.getConfigManager().getDefaultKitName() + "' not found for auto-equip.");
                 }
@@ -0,0 +1,52 @@
+package com.codella.skymasters.listeners;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.GameState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.weather.WeatherChangeEvent;
+
+// World-wide events that only matter where arenas exist.
+// Registered and unregistered by ArenaManager as arena worlds come and go, so servers without arenas pay nothing.
+public class WorldListener implements Listener {
+
+    private final SkyMasters plugin;
+
+    public WorldListener(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    // Prevent natural mob spawning if configured
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        if (event.getSpawnReason() != CreatureSpawnEvent.SpawnReason.NATURAL) return;
+        if (!plugin.getArenaManager().hasArenasInWorld(event.getLocation().getWorld())) return;
+        if (plugin.getConfigManager().isNaturalMobSpawningEnabled()) return;
+
+        Arena arena = plugin.getArenaManager().getArenaAt(event.getLocation());
+        if (arena != null && arena.getState() != GameState.DISABLED) {
+            // We are inside an arena and natural spawning is disabled in config
+            event.setCancelled(true);
+        }
+    }
+
+    // Prevent weather changes within arena worlds
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onWeatherChange(WeatherChangeEvent event) {
+        // Only cancel if changing *to* rain/storm
+        if (!event.toWeatherState()) return;
+        if (!plugin.getArenaManager().hasArenasInWorld(event.getWorld())) return;
+
+        for (Arena arena : plugin.getArenaManager().getAllArenas()) {
+            // Check if the arena is active (not disabled, not regenerating) and in this world
+            if (arena.getState() != GameState.DISABLED && arena.getState() != GameState.REGENERATING &&
+                arena.getWorld() != null && arena.getWorld().equals(event.getWorld())) {
+                event.setCancelled(true);
+                return;
+            }
+        }
+    }
+}
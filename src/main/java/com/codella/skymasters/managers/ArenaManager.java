@@ -2,15 +2,24 @@ package com.codella.skymasters.managers;
 
 import com.codella.skymasters.SkyMasters;
 import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.ArenaBounds;
+import com.codella.skymasters.game.ArenaIndex;
+import com.codella.skymasters.game.ArenaPlayer;
+import com.codella.skymasters.game.ArenaRoster;
+import com.codella.skymasters.game.ChestTier;
 import com.codella.skymasters.game.GameState;
+import com.codella.skymasters.listeners.WorldListener;
 import com.codella.skymasters.utils.LocationUtil;
+import com.codella.skymasters.utils.Placeholder;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 
 import java.io.File;
 import java.io.IOException;
@@ -23,7 +32,11 @@ public class ArenaManager {
 
     private final SkyMasters plugin;
     private final Map<String, Arena> arenas = new ConcurrentHashMap<>();
-    private final Map<UUID, Arena> playerArenas = new ConcurrentHashMap<>();
+    private final Map<UUID, ArenaPlayer> arenaPlayers = new ConcurrentHashMap<>(); // Participant -> match session, written on the main thread only
+    private final ArenaIndex arenaIndex = new ArenaIndex(); // Location -> arena lookups for listeners
+    private final BitSet participantIds = new BitSet(); // Entity ids of players and spectators in any arena, main thread only
+    private WorldListener worldListener; // Only registered while at least one arena world exists
+    private volatile Set<UUID> frozenArenaWorlds = Collections.emptySet(); // Worlds with an indexed arena outside IN_GAME
 
     public ArenaManager(SkyMasters plugin) {
         this.plugin = plugin;
@@ -31,11 +44,13 @@ public class ArenaManager {
 
     public void loadArenas() {
         arenas.clear();
+        arenaIndex.rebuild(arenas.values());
         File arenasFolder = plugin.getArenasFolder();
         File[] arenaFiles = arenasFolder.listFiles((dir, name) -> name.toLowerCase().endsWith(".yml"));
 
         if (arenaFiles == null || arenaFiles.length == 0) {
             plugin.getLogger().info("No arena configuration files found.");
+            plugin.getLobbyDisplayManager().arenasChanged();
             return;
         }
 
@@ -87,6 +102,8 @@ public class ArenaManager {
 
 
                 Arena arena = new Arena(plugin, arenaName, enabled, lobbySpawn, spectatorSpawn, playerSpawns, chestLocations, corner1, corner2, center);
+                arena.setTimelineEntries(arenaConfig.getStringList("timeline")); // Optional per-arena timeline
+                arena.setChestTierOverrides(loadChestTierOverrides(arenaConfig, arenaName));
                 arenas.put(arenaName.toLowerCase(), arena);
 
                  if(enabled) {
@@ -99,6 +116,8 @@ public class ArenaManager {
                 plugin.getLogger().log(Level.SEVERE, "Failed to load arena configuration: " + arenaName, e);
             }
         }
+         rebuildIndex();
+         plugin.getLobbyDisplayManager().arenasChanged();
          plugin.getLogger().info("Finished loading " + arenas.size() + " arenas.");
     }
 
@@ -126,6 +145,18 @@ public class ArenaManager {
                 .collect(Collectors.toList());
         arenaConfig.set("chestLocations", chestStrings);
 
+        if (!arena.getTimelineEntries().isEmpty()) {
+            arenaConfig.set("timeline", arena.getTimelineEntries());
+        }
+
+        // Only manual tier overrides are stored, computed tiers are rebuilt on load
+        for (Location chest : arena.getChestLocations()) {
+            ChestTier override = arena.getChestTierOverrides().get(LocationUtil.blockKey(chest.getBlockX(), chest.getBlockY(), chest.getBlockZ()));
+            if (override != null) {
+                arenaConfig.set("chestTiers." + LocationUtil.serializeLocationMinimal(chest), override.name());
+            }
+        }
+
         // Save block data only if using FULL regeneration and data exists
         if ("FULL".equals(plugin.getConfigManager().getRegenerationMode()) && arena.getOriginalBlockData() != null && !arena.getOriginalBlockData().isEmpty()) {
             // This can make the file huge. Consider alternative storage if this becomes an issue.
@@ -150,6 +181,22 @@ public class ArenaManager {
     }
 
 
+    private Map<Long, ChestTier> loadChestTierOverrides(FileConfiguration arenaConfig, String arenaName) {
+        Map<Long, ChestTier> overrides = new HashMap<>();
+        ConfigurationSection section = arenaConfig.getConfigurationSection("chestTiers");
+        if (section == null) return overrides;
+        for (String key : section.getKeys(false)) {
+            Location loc = LocationUtil.deserializeLocationMinimal(key);
+            ChestTier tier = ChestTier.fromName(section.getString(key));
+            if (loc == null || tier == null) {
+                plugin.getLogger().warning("Invalid chest tier override '" + key + "' in arena '" + arenaName + "'. Skipping.");
+                continue;
+            }
+            overrides.put(LocationUtil.blockKey(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()), tier);
+        }
+        return overrides;
+    }
+
     public Arena getArena(String name) {
         return arenas.get(name.toLowerCase());
     }
@@ -158,29 +205,181 @@ public class ArenaManager {
         return arenas.values();
     }
 
+    // Must be called whenever arena bounds change or arenas are added/removed
+    public void rebuildIndex() {
+        arenaIndex.rebuild(arenas.values());
+        updateWorldListener();
+        updateFrozenWorlds();
+    }
+
+    // Called by Arena on every state change. Recounted from scratch, state changes are rare next to physics events.
+    public void updateFrozenWorlds() {
+        Set<UUID> frozen = new HashSet<>();
+        for (Arena arena : arenas.values()) {
+            ArenaBounds bounds = arena.getBounds();
+            if (bounds != null && arena.getState() != GameState.IN_GAME) frozen.add(bounds.getWorldId());
+        }
+        frozenArenaWorlds = frozen;
+    }
+
+    // World-wide events (spawns, weather) are only listened to while some world actually hosts an arena
+    private void updateWorldListener() {
+        if (!plugin.isEnabled()) return;
+        if (!arenaIndex.isEmpty() && worldListener == null) {
+            worldListener = new WorldListener(plugin);
+            Bukkit.getPluginManager().registerEvents(worldListener, plugin);
+        } else if (arenaIndex.isEmpty() && worldListener != null) {
+            HandlerList.unregisterAll(worldListener);
+            worldListener = null;
+        }
+    }
+
+    public Arena getArenaAt(Location location) {
+        return arenaIndex.getArenaAt(location);
+    }
+
+    public Arena getArenaAt(Block block) {
+        return arenaIndex.getArenaAt(block);
+    }
+
+    public boolean hasArenasInWorld(World world) {
+        return arenaIndex.hasArenas(world);
+    }
+
+    // False when every arena in the world is running a match, so frozen-arena checks can skip the index lookup
+    public boolean hasFrozenArenasInWorld(World world) {
+        return frozenArenaWorlds.contains(world.getUID());
+    }
+
+    // Safe from async threads (chat): the map is concurrent and an ArenaPlayer's arena never changes
     public Arena getPlayerArena(Player player) {
-        return playerArenas.get(player.getUniqueId());
+        ArenaPlayer arenaPlayer = arenaPlayers.get(player.getUniqueId());
+        return arenaPlayer != null ? arenaPlayer.getArena() : null;
+    }
+
+    // Everything about the player's current match in one lookup, null if not in an arena
+    public ArenaPlayer getArenaPlayer(Player player) {
+        return arenaPlayers.get(player.getUniqueId());
     }
 
     public boolean isPlayerInArena(Player player) {
-        return playerArenas.containsKey(player.getUniqueId());
+        return arenaPlayers.containsKey(player.getUniqueId());
+    }
+
+    // Cheap check for hot listeners: true if the player is playing or spectating in any arena
+    public boolean isParticipant(Player player) {
+        return participantIds.get(player.getEntityId());
+    }
+
+    // Called by the arena whenever a player or spectator is added to it.
+    // An eliminated player turning spectator keeps their session (kills, damage) for the rest of the match.
+    public ArenaPlayer trackPlayer(Player player, Arena arena, ArenaRoster.Role role) {
+        ArenaPlayer arenaPlayer = arenaPlayers.get(player.getUniqueId());
+        if (arenaPlayer == null || arenaPlayer.getArena() != arena) {
+            ArenaPlayer previous = arenaPlayer;
+            arenaPlayer = new ArenaPlayer(player.getUniqueId(), arena, role);
+            if (previous != null && previous.hasSavedViewDistance()) {
+                arenaPlayer.setSavedViewDistance(previous.getSavedViewDistance(), previous.getSavedSendViewDistance());
+            }
+            arenaPlayers.put(player.getUniqueId(), arenaPlayer);
+        }
+        arenaPlayer.setRole(role);
+        participantIds.set(player.getEntityId());
+        plugin.getVisibilityManager().update(player, arena, role == ArenaRoster.Role.SPECTATOR);
+        applyViewDistance(player, arenaPlayer);
+        return arenaPlayer;
+    }
+
+    // Called by the arena whenever a player or spectator leaves it, by any route
+    public void forgetPlayer(Player player) {
+        ArenaPlayer arenaPlayer = arenaPlayers.remove(player.getUniqueId());
+        participantIds.clear(player.getEntityId());
+        plugin.getVisibilityManager().update(player, null, false);
+        if (arenaPlayer != null) restoreViewDistance(player, arenaPlayer);
+    }
+
+    // Limits chunk loading and sending for participants to what their arena needs (never above their own setting).
+    // Only real per-player overrides are kept on the session: a player who used the world's values gets the override
+    // cleared again when they leave, so later world or server changes still reach them.
+    private void applyViewDistance(Player player, ArenaPlayer arenaPlayer) {
+        if (!plugin.getConfigManager().isArenaViewDistanceEnabled()) return;
+        ArenaBounds bounds = arenaPlayer.getArena().getBounds();
+        if (bounds == null) return;
+        try {
+            if (!arenaPlayer.hasSavedViewDistance()) {
+                World world = player.getWorld();
+                int view = player.getViewDistance();
+                int send = player.getSendViewDistance();
+                arenaPlayer.setSavedViewDistance(view != world.getViewDistance() ? view : -1,
+                        send != world.getSendViewDistance() ? send : -1);
+            }
+            int wanted = Math.max(2, bounds.getMaxExtentChunks() + plugin.getConfigManager().getArenaViewDistanceMargin());
+            int viewDistance = Math.min(wanted, effective(arenaPlayer.getSavedViewDistance(), player.getWorld().getViewDistance()));
+            int sendViewDistance = Math.min(wanted, effective(arenaPlayer.getSavedSendViewDistance(), player.getWorld().getSendViewDistance()));
+            if (player.getViewDistance() != viewDistance) player.setViewDistance(viewDistance);
+            if (player.getSendViewDistance() != sendViewDistance) player.setSendViewDistance(sendViewDistance);
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            plugin.getLogger().fine("Per-player view distance not supported: " + e.getMessage());
+        }
+    }
+
+    private static int effective(int saved, int worldValue) {
+        return saved >= 0 ? saved : worldValue;
+    }
+
+    // -1 clears the per-player override, back to the world's value
+    private void restoreViewDistance(Player player, ArenaPlayer arenaPlayer) {
+        if (!arenaPlayer.hasSavedViewDistance()) return;
+        try {
+            player.setViewDistance(arenaPlayer.getSavedViewDistance());
+            player.setSendViewDistance(arenaPlayer.getSavedSendViewDistance());
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            plugin.getLogger().fine("Could not restore view distance for " + player.getName() + ": " + e.getMessage());
+        }
     }
 
     public void addPlayerToArena(Player player, Arena arena) {
         if (isPlayerInArena(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("already-in-arena"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "already-in-arena"));
              return;
         }
-        if (arena.addPlayer(player)) {
-            playerArenas.put(player.getUniqueId(), arena);
+        arena.addPlayer(player); // Tracked by the arena on success
+    }
+
+    // The join path shared by /sw join, join signs and the arena selector: joins the lobby,
+    // or spectates a running game if allowed. Tells the player why if they can't join.
+    public boolean joinArena(Player player, Arena arena) {
+        if (isPlayerInArena(player)) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "already-in-arena"));
+            return false;
+        }
+        if (!arena.isEnabled()) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-not-ready", Placeholder.of("arena", arena.getName())));
+            return false;
+        }
+
+        // Check state and capacity
+        if (arena.getState() != GameState.WAITING && arena.getState() != GameState.STARTING) {
+            if (arena.getState() == GameState.IN_GAME && plugin.getConfigManager().isSpectatorsAllowed()) {
+                // Join as spectator, addSpectator explains its own refusals
+                return arena.addSpectator(player);
+            }
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-in-game", Placeholder.of("arena", arena.getName())));
+            return false;
         }
+        if (arena.getPlayers().size() >= plugin.getConfigManager().getMaxPlayersPerArena()) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-full", Placeholder.of("arena", arena.getName())));
+            return false;
+        }
+        return arena.addPlayer(player); // Join message is sent from Arena.addPlayer()
     }
 
     public void removePlayerFromArena(Player player) {
-        Arena arena = playerArenas.remove(player.getUniqueId());
+        Arena arena = getPlayerArena(player);
         if (arena != null) {
-            arena.removePlayer(player);
+            arena.removePlayer(player); // Forgets the player
         }
+        forgetPlayer(player);
     }
 
     public void createArena(String name) {
@@ -191,26 +390,24 @@ public class ArenaManager {
          // Create a basic Arena object, expecting setup to fill details
          Arena newArena = new Arena(plugin, name, false, null, null, new ArrayList<>(), new ArrayList<>(), null, null, null);
          arenas.put(name.toLowerCase(), newArena);
+         rebuildIndex();
+         plugin.getLobbyDisplayManager().arenasChanged();
          saveArena(newArena); // Save the initial empty file
     }
 
      public void deleteArena(String name) {
          Arena arena = arenas.remove(name.toLowerCase());
          if (arena != null) {
+             rebuildIndex();
+             plugin.getLobbyDisplayManager().arenasChanged();
              arena.stopGame(true); // Force stop if running
              File arenaFile = new File(plugin.getArenasFolder(), arena.getName() + ".yml");
              if (arenaFile.exists()) {
                  arenaFile.delete();
              }
              // Kick any players still lingering (should be handled by stopGame usually)
-             arena.getPlayers().forEach(uuid -> {
-                 Player p = Bukkit.getPlayer(uuid);
-                 if(p != null) removePlayerFromArena(p); // Let removePlayer handle state removal
-             });
-             arena.getSpectators().forEach(uuid -> {
-                 Player p = Bukkit.getPlayer(uuid);
-                  if(p != null) arena.removeSpectator(p, true); // Force remove spectator
-             });
+             new ArrayList<>(arena.getPlayers()).forEach(this::removePlayerFromArena); // Let removePlayer handle state removal
+             new ArrayList<>(arena.getSpectators()).forEach(p -> arena.removeSpectator(p, true)); // Force remove spectator
          }
      }
 
@@ -223,6 +420,7 @@ public class ArenaManager {
                   return;
              }
              arena.setEnabled(true);
+             rebuildIndex();
              // If using FULL regeneration, attempt to save the initial state now
              if ("FULL".equals(plugin.getConfigManager().getRegenerationMode())) {
                  arena.saveInitialState();
@@ -245,6 +443,10 @@ public class ArenaManager {
          arenas.values().forEach(arena -> {
              if (arena.getState() != GameState.WAITING && arena.getState() != GameState.DISABLED) {
                  arena.stopGame(true); // Force stop
+             } else {
+                 // Nothing to stop, but lobby players were captured on join and need their state back
+                 new ArrayList<>(arena.getOnlinePlayers()).forEach(arena::removePlayer);
+                 new ArrayList<>(arena.getOnlineSpectators()).forEach(p -> arena.removeSpectator(p, true));
              }
          });
          plugin.getLogger().info("All active arenas stopped.");
@@ -253,7 +455,8 @@ public class ArenaManager {
      public void reloadArenas() {
          plugin.getLogger().info("Reloading arena configurations...");
          stopAllArenas(); // Stop current games before reloading
-         playerArenas.clear(); // Clear player tracking
+         arenaPlayers.clear(); // Clear player tracking
+         participantIds.clear();
          loadArenas(); // Reload from files
      }
 
@@ -1,20 +1,34 @@
 package com.codella.skymasters.managers;
 
 import com.codella.skymasters.SkyMasters;
-import org.bukkit.ChatColor;
+import com.codella.skymasters.utils.LocationUtil;
+import com.codella.skymasters.utils.MessageBundle;
+import com.codella.skymasters.utils.MessageTemplate;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class ConfigManager {
@@ -22,13 +36,44 @@ public class ConfigManager {
     private final SkyMasters plugin;
     private FileConfiguration messagesConfig;
     private File messagesFile;
-    private Map<String, String> messages = new HashMap<>();
+    // Replaced wholesale on reload, never mutated
+    private volatile MessageBundle defaultBundle = new MessageBundle("", new HashMap<>());
+    private volatile Map<String, MessageBundle> localeBundles = new HashMap<>(); // messages_<locale>.yml by lower-case locale
+    private volatile Map<String, MessageBundle> resolvedLocales = new ConcurrentHashMap<>(); // Client locale -> bundle, filled on demand
+    private volatile boolean perPlayerLocale;
+    private volatile Title[] countdownTitles = new Title[0]; // Index = seconds left
+    private Material setupWandItem; // Parsed once per (re)load, checked on every interact
+    private double voidEliminationY; // Checked on player movement
+    private int teleportsPerTick; // Checked on every queued teleport
+    private int arenaBroadcastsPerSecond;
+    // Read by the async chat listener, replaced wholesale on reload
+    private volatile boolean arenaChatEnabled;
+    private volatile String chatShoutPrefix;
+    private volatile Component chatShoutTag = Component.empty();
+    private volatile Component chatSpectatorTag = Component.empty();
 
     public ConfigManager(SkyMasters plugin) {
         this.plugin = plugin;
+        loadSettings();
         loadMessages();
     }
 
+    // Parses settings that are read from hot paths
+    private void loadSettings() {
+        String materialName = plugin.getConfig().getString("setup-wand-item", "BLAZE_ROD");
+        Material material = Material.matchMaterial(materialName);
+        if (material == null || !material.isItem()) {
+            plugin.getLogger().warning("Invalid setup wand item material '" + materialName + "' in config.yml. Using BLAZE_ROD.");
+            material = Material.BLAZE_ROD;
+        }
+        setupWandItem = material;
+        voidEliminationY = plugin.getConfig().getDouble("void-elimination-y", 0.0);
+        teleportsPerTick = Math.max(1, plugin.getConfig().getInt("teleports-per-tick", 4));
+        arenaBroadcastsPerSecond = Math.max(0, plugin.getConfig().getInt("arena-broadcasts-per-second", 0));
+        arenaChatEnabled = plugin.getConfig().getBoolean("arena-chat.enabled", true);
+        chatShoutPrefix = plugin.getConfig().getString("arena-chat.shout-prefix", "!");
+    }
+
     // --- General Config Access ---
 
     public int getMinPlayersToStart() {
@@ -51,6 +96,44 @@ public class ConfigManager {
         return plugin.getConfig().getInt("chest-refill-time-seconds-2", 120);
     }
 
+    // 0 = new random seed every match. Any other value makes chest loot reproducible.
+    public long getLootSeed() {
+        return plugin.getConfig().getLong("loot-seed", 0L);
+    }
+
+    public boolean isLazyChestFilling() {
+        return plugin.getConfig().getBoolean("lazy-chest-filling", false);
+    }
+
+    // Max time per tick spent applying a chest refill, in nanoseconds
+    public long getChestRefillBudgetNanos() {
+        return (long) (plugin.getConfig().getDouble("chest-refill-budget-ms", 2.0) * 1_000_000L);
+    }
+
+    public List<String> getTimelineEntries() {
+        return plugin.getConfig().getStringList("timeline");
+    }
+
+    public List<Integer> getTimeAnnouncements() {
+        return plugin.getConfig().getIntegerList("time-announcements");
+    }
+
+    public int getDeathmatchTimeSeconds() {
+        return plugin.getConfig().getInt("deathmatch-time-seconds", 0);
+    }
+
+    public double getDeathmatchSpreadRadius() {
+        return Math.max(0.0, plugin.getConfig().getDouble("deathmatch-spread-radius", 4.0));
+    }
+
+    public double getChestTierCenterRadius() {
+        return plugin.getConfig().getDouble("chest-tiers.center-radius", 12.0);
+    }
+
+    public double getChestTierSpawnRadius() {
+        return plugin.getConfig().getDouble("chest-tiers.spawn-radius", 10.0);
+    }
+
     public int getGameTimeLimitSeconds() {
         return plugin.getConfig().getInt("game-time-limit-seconds", 600);
     }
@@ -59,18 +142,41 @@ public class ConfigManager {
         return plugin.getConfig().getInt("start-invincibility-seconds", 5);
     }
 
+    // How long after a hit a player still gets the kill if the victim dies without a direct killer
+    public int getKillCreditWindowSeconds() {
+        return plugin.getConfig().getInt("kill-credit-window-seconds", 10);
+    }
+
+    // Chat broadcasts per arena per second, 0 = unlimited. Cached, checked on every feed flush.
+    public int getArenaBroadcastsPerSecond() {
+        return arenaBroadcastsPerSecond;
+    }
+
+    public boolean isSavePlayerState() {
+        return plugin.getConfig().getBoolean("save-player-state", true);
+    }
+
+    public int getTeleportsPerTick() {
+        return teleportsPerTick;
+    }
+
+    // Longest wait for start teleports before the game clock starts anyway
+    public int getStartLandingTimeoutSeconds() {
+        return plugin.getConfig().getInt("start-landing-timeout-seconds", 10);
+    }
+
+    // Where players are sent when they leave an arena, the main world's spawn if unset or invalid
+    public Location getMainLobby() {
+        Location lobby = LocationUtil.deserializeLocation(plugin.getConfig().getString("main-lobby", ""));
+        return lobby != null ? lobby : Bukkit.getWorlds().get(0).getSpawnLocation();
+    }
+
     public int getEndGameDelaySeconds() {
         return plugin.getConfig().getInt("end-game-delay-seconds", 10);
     }
 
     public Material getSetupWandItem() {
-        String materialName = plugin.getConfig().getString("setup-wand-item", "BLAZE_ROD");
-        try {
-            return Material.valueOf(materialName.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            plugin.getLogger().warning("Invalid setup wand item material '" + materialName + "' in config.yml. Using BLAZE_ROD.");
-            return Material.BLAZE_ROD;
-        }
+        return setupWandItem;
     }
 
     public boolean isAutoEquipDefaultKit() {
@@ -93,6 +199,10 @@ public class ConfigManager {
          return plugin.getConfig().getBoolean("enable-fall-damage", true);
     }
 
+    public double getVoidEliminationY() {
+        return voidEliminationY;
+    }
+
     public String getRegenerationMode() {
         return plugin.getConfig().getString("regeneration-mode", "PARTIAL").toUpperCase();
     }
@@ -124,10 +234,42 @@ public class ConfigManager {
          return plugin.getConfig().getBoolean("spectator-night-vision", true);
      }
 
+    public boolean isArenaChatEnabled() {
+        return arenaChatEnabled;
+    }
+
+    // Messages starting with this go to the whole server; empty disables shouting
+    public String getChatShoutPrefix() {
+        return chatShoutPrefix;
+    }
+
+    public Component getChatShoutTag() {
+        return chatShoutTag;
+    }
+
+    public Component getChatSpectatorTag() {
+        return chatSpectatorTag;
+    }
+
+    public boolean isArenaViewDistanceEnabled() {
+        return plugin.getConfig().getBoolean("arena-view-distance.enabled", true);
+    }
+
+    // Extra chunks beyond the arena's widest side
+    public int getArenaViewDistanceMargin() {
+        return plugin.getConfig().getInt("arena-view-distance.margin-chunks", 2);
+    }
+
+    public boolean isArenaVisibilityIsolated() {
+        return plugin.getConfig().getBoolean("isolate-arena-visibility", true);
+    }
+
     public boolean showCountdownTitle() { return plugin.getConfig().getBoolean("show-countdown-title", true); }
     public boolean showStartTitle() { return plugin.getConfig().getBoolean("show-start-title", true); }
     public boolean showWinnerTitle() { return plugin.getConfig().getBoolean("show-winner-title", true); }
     public boolean showActionBarMessages() { return plugin.getConfig().getBoolean("show-action-bar-messages", true); }
+    public boolean isSidebarEnabled() { return plugin.getConfig().getBoolean("sidebar.enabled", true); }
+    public boolean isBossBarEnabled() { return plugin.getConfig().getBoolean("bossbar.enabled", true); }
 
     // --- Messages ---
 
@@ -153,51 +295,153 @@ public class ConfigManager {
             }
         }
 
-        // Load messages into map
-        messages.clear();
+        // Compile every message once into a template, published as a whole so async readers never see a half-built map
+        boolean miniMessage = plugin.getConfig().getBoolean("minimessage-format", false);
+        Map<String, MessageTemplate> compiled = new HashMap<>();
         ConfigurationSection messagesSection = messagesConfig; // Assuming messages are at the root
         if (messagesSection != null) {
-            for (String key : messagesSection.getKeys(false)) {
-                messages.put(key, ChatColor.translateAlternateColorCodes('&', messagesSection.getString(key, "&cMissing message: " + key)));
-            }
+            compileMessages(messagesSection, miniMessage, compiled);
         } else {
              plugin.getLogger().severe("Could not find any messages in messages.yml!");
         }
 
         // Ensure prefix is loaded correctly
-        if (!messages.containsKey("prefix")) {
-            messages.put("prefix", ChatColor.translateAlternateColorCodes('&', "&b&lSkyMasters &8»&r "));
+        if (!compiled.containsKey("prefix")) {
+            compiled.put("prefix", MessageTemplate.compile(miniMessage ? "<aqua><bold>SkyMasters</bold></aqua> <dark_gray>»</dark_gray> " : "&b&lSkyMasters &8»&r ", miniMessage));
         }
+        MessageBundle base = new MessageBundle("", compiled);
+        localeBundles = loadLocaleBundles(base, miniMessage);
+        resolvedLocales = new ConcurrentHashMap<>();
+        defaultBundle = base;
+        perPlayerLocale = plugin.getConfig().getBoolean("per-player-locale", true);
+
+        chatShoutTag = getMessageComponent("chat-shout-tag");
+        chatSpectatorTag = getMessageComponent("chat-spectator-tag");
+
+        // Countdown numbers are shown every lobby, build their titles once
+        Title[] titles = new Title[Math.max(0, getLobbyCountdownSeconds()) + 1];
+        Title.Times times = Title.Times.times(Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(500)); // Fade in, stay, fade out
+        for (int seconds = 0; seconds < titles.length; seconds++) {
+            titles[seconds] = Title.title(Component.text(seconds, NamedTextColor.AQUA), Component.empty(), times);
+        }
+        countdownTitles = titles;
     }
 
-    public String getMessage(String key) {
-        return messages.getOrDefault(key, messages.get("prefix") + "&cUnknown message key: " + key);
+    private void compileMessages(ConfigurationSection section, boolean miniMessage, Map<String, MessageTemplate> into) {
+        for (String key : section.getKeys(false)) {
+            String raw = section.getString(key, "&cMissing message: " + key);
+            // Avoid double prefix if the message itself starts with the prefix placeholder (unlikely but possible)
+            if (raw.startsWith("{prefix}")) raw = raw.substring("{prefix}".length());
+            into.put(key, MessageTemplate.compile(raw, miniMessage));
+        }
     }
 
-    public String getMessage(String key, Map<String, String> placeholders) {
-        String message = getMessage(key);
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("{" + entry.getKey() + "}", entry.getValue());
+    // messages_<locale>.yml files next to messages.yml, e.g. messages_de.yml or messages_pt_br.yml.
+    // Each is merged over its language bundle (pt_br over pt) if there is one, and over messages.yml,
+    // so keys a translation leaves out fall back along that chain.
+    private Map<String, MessageBundle> loadLocaleBundles(MessageBundle base, boolean miniMessage) {
+        Map<String, Map<String, MessageTemplate>> own = new HashMap<>();
+        File[] files = plugin.getDataFolder().listFiles((dir, fileName) -> fileName.startsWith("messages_") && fileName.endsWith(".yml"));
+        if (files != null) {
+            for (File file : files) {
+                String locale = file.getName().substring("messages_".length(), file.getName().length() - ".yml".length()).toLowerCase(Locale.ROOT);
+                if (locale.isEmpty()) continue;
+                Map<String, MessageTemplate> compiled = new HashMap<>();
+                compileMessages(YamlConfiguration.loadConfiguration(file), miniMessage, compiled);
+                own.put(locale, compiled);
+            }
+        }
+
+        Map<String, MessageBundle> bundles = new HashMap<>();
+        for (String locale : own.keySet()) {
+            int separator = locale.indexOf('_');
+            Map<String, MessageTemplate> language = separator > 0 ? own.get(locale.substring(0, separator)) : null;
+            Map<String, MessageTemplate> merged = new HashMap<>(base.getTemplates());
+            if (language != null) merged.putAll(language);
+            merged.putAll(own.get(locale));
+            bundles.put(locale, new MessageBundle(locale, merged));
         }
-        return message;
+        if (!bundles.isEmpty()) {
+            plugin.getLogger().info("Loaded message bundles: " + String.join(", ", new TreeSet<>(bundles.keySet())));
+        }
+        return bundles;
+    }
+
+    // messages.yml, used for the console, broadcasts outside arenas and anything shared by all viewers
+    public MessageBundle getDefaultBundle() {
+        return defaultBundle;
+    }
+
+    // The bundle for a client locale: exact match (de_at), then the language (de), then messages.yml.
+    // Resolved once per distinct locale.
+    public MessageBundle getBundle(Locale locale) {
+        if (!perPlayerLocale || locale == null || localeBundles.isEmpty()) return defaultBundle;
+        return resolvedLocales.computeIfAbsent(locale.toString().toLowerCase(Locale.ROOT), tag -> {
+            Map<String, MessageBundle> bundles = localeBundles;
+            MessageBundle bundle = bundles.get(tag);
+            int separator = tag.indexOf('_');
+            if (bundle == null && separator > 0) bundle = bundles.get(tag.substring(0, separator));
+            return bundle != null ? bundle : defaultBundle;
+        });
+    }
+
+    public MessageBundle getBundle(CommandSender sender) {
+        return sender instanceof Player player ? getBundle(player.locale()) : defaultBundle;
+    }
+
+    public MessageTemplate getTemplate(String key) {
+        return defaultBundle.getTemplate(key);
+    }
+
+    public String getMessage(String key) {
+        return defaultBundle.getMessage(key);
+    }
+
+    // getMessage("arena-full", Placeholder.of("arena", name))
+    public String getMessage(String key, Placeholder... args) {
+        return defaultBundle.getMessage(key, args);
     }
 
     public String getPrefixedMessage(String key) {
-        return messages.get("prefix") + getMessage(key);
+        return defaultBundle.getPrefixedMessage(key);
     }
 
-    public String getPrefixedMessage(String key, Map<String, String> placeholders) {
-        String message = getMessage(key, placeholders);
-        // Avoid double prefix if the message itself starts with the prefix placeholder (unlikely but possible)
-        if (message.startsWith("{prefix}")) {
-            message = message.substring("{prefix}".length());
-        }
-        return messages.get("prefix") + message;
+    public String getPrefixedMessage(String key, Placeholder... args) {
+        return defaultBundle.getPrefixedMessage(key, args);
+    }
+
+    public Component getMessageComponent(String key, Placeholder... args) {
+        return defaultBundle.getMessageComponent(key, args);
+    }
+
+    public Component getPrefixedComponent(String key, Placeholder... args) {
+        return defaultBundle.getPrefixedComponent(key, args);
+    }
+
+    // Same, in the language of the receiver (messages.yml for the console)
+    public String getMessage(CommandSender receiver, String key, Placeholder... args) {
+        return getBundle(receiver).getMessage(key, args);
+    }
+
+    public String getPrefixedMessage(CommandSender receiver, String key, Placeholder... args) {
+        return getBundle(receiver).getPrefixedMessage(key, args);
+    }
+
+    public Component getMessageComponent(CommandSender receiver, String key, Placeholder... args) {
+        return getBundle(receiver).getMessageComponent(key, args);
+    }
+
+    // Pre-built countdown title, null outside the configured countdown length
+    public Title getCountdownTitle(int seconds) {
+        Title[] titles = countdownTitles;
+        return seconds >= 0 && seconds < titles.length ? titles[seconds] : null;
     }
 
     // Reload all configurations
     public void reloadConfigs() {
+        plugin.getVisibilityManager().reset(); // Undo hiding under the old settings before they change
         plugin.reloadConfig();
+        loadSettings();
         loadMessages();
         plugin.getKitManager().loadKits(); // Reload kits
         plugin.getArenaManager().reloadArenas(); // Reload arenas
@@ -0,0 +1,107 @@
+package com.codella.skymasters.managers;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.ArenaPlayer;
+import com.codella.skymasters.utils.MessageBundle;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Action bars for every arena, driven by one plugin task instead of each arena's countdown and clock.
+// An arena's content is rebuilt only when its inputs (state, counts, seconds left, next event) change and is then
+// sent to the whole arena, rendered once per message bundle (locale) in use; unchanged content is re-sent only
+// often enough to stay on screen.
+// Per-player overlays (the start invincibility countdown) replace the arena content for that player while active.
+// Main thread only.
+public class HudManager {
+
+    private static final long TICK_INTERVAL = 5L;
+    private static final int KEEPALIVE_TICKS = 40; // Action bars fade out after about three seconds
+
+    private static final class ArenaHud {
+        private long inputs = -1;
+        private final Map<MessageBundle, Component> content = new IdentityHashMap<>(2); // Current inputs, by locale
+        private int sentTick;
+        private boolean overlaysShown; // Someone saw an overlay last pass and may need the arena content back
+    }
+
+    private final SkyMasters plugin;
+    private final Map<Arena, ArenaHud> huds = new IdentityHashMap<>();
+    private BukkitTask tickTask;
+
+    public HudManager(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (tickTask != null) return;
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, TICK_INTERVAL, TICK_INTERVAL);
+    }
+
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        huds.clear();
+    }
+
+    private void tick() {
+        if (!plugin.getConfigManager().showActionBarMessages()) {
+            huds.clear();
+            return;
+        }
+        ArenaManager arenaManager = plugin.getArenaManager();
+        int now = Bukkit.getCurrentTick();
+        for (Arena arena : arenaManager.getAllArenas()) {
+            if (arena.getRoster().isEmpty()) {
+                huds.remove(arena);
+                continue;
+            }
+            ArenaHud hud = huds.computeIfAbsent(arena, a -> new ArenaHud());
+            long inputs = arena.getActionBarInputs();
+            boolean changed = inputs != hud.inputs;
+            if (changed) {
+                hud.inputs = inputs;
+                hud.content.clear();
+            }
+            boolean due = changed || now - hud.sentTick >= KEEPALIVE_TICKS;
+            if (due) hud.sentTick = now;
+            if (!due && !hud.overlaysShown && !arena.isInvincibilityRunning(now)) continue;
+
+            boolean overlaysShown = false;
+            for (Player player : arena.getRoster().getMembers()) {
+                ArenaPlayer session = arenaManager.getArenaPlayer(player);
+                int overlay = session != null ? overlaySeconds(session, now) : -1;
+                if (overlay >= 0) {
+                    overlaysShown = true;
+                    if (due || overlay != session.getHudOverlay()) {
+                        player.sendActionBar(plugin.getConfigManager().getMessageComponent(player, "actionbar-invincible", Placeholder.of("time", overlay)));
+                        session.setHudOverlay(overlay);
+                    }
+                } else if (due || (session != null && session.getHudOverlay() >= 0)) {
+                    MessageBundle bundle = plugin.getConfigManager().getBundle(player.locale());
+                    player.sendActionBar(hud.content.computeIfAbsent(bundle, arena::buildActionBar));
+                    if (session != null) session.setHudOverlay(-1);
+                }
+            }
+            hud.overlaysShown = overlaysShown;
+        }
+        if (huds.size() > arenaManager.getAllArenas().size()) {
+            huds.keySet().removeIf(arena -> arena.getRoster().isEmpty()); // Deleted or reloaded arenas
+        }
+    }
+
+    // Seconds of start invincibility left, or -1 if none (also while still landing, which has no end yet)
+    private static int overlaySeconds(ArenaPlayer session, int now) {
+        long until = session.getInvincibleUntilTick();
+        if (until == Long.MAX_VALUE || !session.isInvincible(now)) return -1;
+        return (int) ((until - now + 19) / 20);
+    }
+}
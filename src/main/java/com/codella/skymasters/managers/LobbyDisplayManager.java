@@ -0,0 +1,332 @@
+package com.codella.skymasters.managers;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.GameState;
+import com.codella.skymasters.utils.LocationUtil;
+import com.codella.skymasters.utils.MessageBundle;
+import com.codella.skymasters.utils.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+// Join signs and the arena selector menu.
+// Each arena's sign lines and selector icon are rendered once into a cache and rendered again only when its state
+// or player count changes (ArenaStateChangeEvent, ArenaPlayerCountChangeEvent); changes are applied on the next tick.
+// Viewers cost nothing: sign text lives in the world and every player opens the same selector inventory.
+// Both are shared by everyone, so they use messages.yml. Signs are stored in signs.yml. Main thread only.
+public class LobbyDisplayManager {
+
+    private static final int MAX_SELECTOR_SLOTS = 54;
+
+    private static final class Display {
+        private long inputs = -1; // State ordinal and player count the content below was rendered for
+        private Component[] signLines;
+        private ItemStack icon;
+    }
+
+    // Identifies the selector inventory in click events
+    public static final class SelectorHolder implements InventoryHolder {
+        private Inventory inventory;
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+
+    private final SkyMasters plugin;
+    private final File file;
+    private final Map<String, Display> displays = new HashMap<>(); // Lower-case arena name
+    private final Map<Location, String> signs = new HashMap<>(); // Sign block -> lower-case arena name
+    private final Map<Long, List<Location>> signsByChunk = new HashMap<>(); // Chunk key -> signs, any world
+    private final List<String> unresolvedSigns = new ArrayList<>(); // "arena;location" in worlds not loaded, kept for saving
+    private final Set<String> dirty = new HashSet<>();
+    private boolean layoutDirty = true;
+    private boolean flushScheduled;
+    private Inventory selector; // Built on first use
+    private String[] slotArenas = new String[0];
+
+    public LobbyDisplayManager(SkyMasters plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "signs.yml");
+    }
+
+    public void loadSigns() {
+        signs.clear();
+        signsByChunk.clear();
+        unresolvedSigns.clear();
+        if (!file.exists()) return;
+        ConfigurationSection section = YamlConfiguration.loadConfiguration(file).getConfigurationSection("signs");
+        if (section == null) return;
+        for (String arenaName : section.getKeys(false)) {
+            for (String serialized : section.getStringList(arenaName)) {
+                Location location = LocationUtil.deserializeLocation(serialized);
+                if (location == null) {
+                    plugin.getLogger().warning("Join sign for arena '" + arenaName + "' at " + serialized + " is in a world that is not loaded.");
+                    unresolvedSigns.add(arenaName + ";" + serialized);
+                    continue;
+                }
+                addSign(toBlockLocation(location), arenaName.toLowerCase());
+            }
+        }
+        arenasChanged();
+    }
+
+    private void saveSigns() {
+        Map<String, List<String>> byArena = new TreeMap<>();
+        for (Map.Entry<Location, String> entry : signs.entrySet()) {
+            byArena.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(LocationUtil.serializeLocationMinimal(entry.getKey()));
+        }
+        for (String unresolved : unresolvedSigns) {
+            int separator = unresolved.indexOf(';');
+            byArena.computeIfAbsent(unresolved.substring(0, separator), k -> new ArrayList<>()).add(unresolved.substring(separator + 1));
+        }
+        FileConfiguration config = new YamlConfiguration();
+        byArena.forEach((arenaName, locations) -> config.set("signs." + arenaName, locations));
+        try {
+            config.save(file);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not save signs.yml: " + e.getMessage());
+        }
+    }
+
+    // --- Invalidation ---
+
+    public void arenaChanged(Arena arena) {
+        dirty.add(arena.getName().toLowerCase());
+        scheduleFlush();
+    }
+
+    // Arenas were created, deleted or reloaded: the selector layout and every cached display are rebuilt
+    public void arenasChanged() {
+        layoutDirty = true;
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled || !plugin.isEnabled()) return;
+        flushScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        if (layoutDirty) {
+            layoutDirty = false;
+            rebuildLayout();
+        }
+        for (String key : dirty) {
+            Arena arena = plugin.getArenaManager().getArena(key);
+            if (arena == null) continue;
+            Display display = displays.computeIfAbsent(key, k -> new Display());
+            if (!render(arena, display)) continue; // A change that came and went before the flush
+            for (Map.Entry<Location, String> entry : signs.entrySet()) {
+                if (entry.getValue().equals(key)) applySign(entry.getKey(), display);
+            }
+            if (selector != null) {
+                for (int slot = 0; slot < slotArenas.length; slot++) {
+                    if (key.equals(slotArenas[slot])) selector.setItem(slot, display.icon);
+                }
+            }
+        }
+        dirty.clear();
+    }
+
+    private void rebuildLayout() {
+        displays.clear();
+        List<Arena> arenas = sortedArenas();
+        for (Arena arena : arenas) {
+            dirty.add(arena.getName().toLowerCase()); // Re-renders signs too, e.g. after a message reload
+        }
+        if (selector == null) return; // Nobody opened it yet
+        for (HumanEntity viewer : new ArrayList<>(selector.getViewers())) {
+            viewer.closeInventory(); // Their slots no longer match
+        }
+        selector = createSelector(arenas);
+    }
+
+    // Icons of arenas not rendered yet are filled in by the next flush
+    private Inventory createSelector(List<Arena> arenas) {
+        if (arenas.size() > MAX_SELECTOR_SLOTS) {
+            plugin.getLogger().warning("The arena selector shows the first " + MAX_SELECTOR_SLOTS + " of " + arenas.size() + " arenas.");
+        }
+        int count = Math.min(arenas.size(), MAX_SELECTOR_SLOTS);
+        int size = Math.max(9, (count + 8) / 9 * 9);
+        SelectorHolder holder = new SelectorHolder();
+        Inventory inventory = Bukkit.createInventory(holder, size, plugin.getConfigManager().getMessageComponent("selector-title"));
+        holder.inventory = inventory;
+        slotArenas = new String[size];
+        for (int slot = 0; slot < count; slot++) {
+            String key = arenas.get(slot).getName().toLowerCase();
+            slotArenas[slot] = key;
+            Display display = displays.get(key);
+            if (display != null && display.icon != null) {
+                inventory.setItem(slot, display.icon);
+            } else {
+                dirty.add(key);
+            }
+        }
+        return inventory;
+    }
+
+    private List<Arena> sortedArenas() {
+        List<Arena> arenas = new ArrayList<>(plugin.getArenaManager().getAllArenas());
+        arenas.sort(Comparator.comparing(arena -> arena.getName().toLowerCase()));
+        return arenas;
+    }
+
+    // Renders the arena's sign lines and icon if its state or player count changed since the last render
+    private boolean render(Arena arena, Display display) {
+        GameState state = arena.getState();
+        int players = arena.getRoster().getPlayerCount();
+        long inputs = (long) state.ordinal() << 32 | players;
+        if (inputs == display.inputs) return false;
+        display.inputs = inputs;
+
+        ConfigManager config = plugin.getConfigManager();
+        MessageBundle messages = config.getDefaultBundle();
+        Component status = messages.getMessageComponent("arena-status-" + state.name().toLowerCase().replace('_', '-'));
+        Placeholder[] args = {Placeholder.of("arena", arena.getName()), Placeholder.of("status", status),
+                Placeholder.of("current", players), Placeholder.of("max", config.getMaxPlayersPerArena())};
+
+        Component[] lines = new Component[4];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = messages.getMessageComponent("sign-line-" + (i + 1), args);
+        }
+        display.signLines = lines;
+
+        ItemStack icon = new ItemStack(iconMaterial(state), Math.max(1, Math.min(players, 64)));
+        ItemMeta meta = icon.getItemMeta();
+        meta.displayName(noItalic(messages.getMessageComponent("selector-item-name", args)));
+        List<Component> lore = new ArrayList<>(3);
+        lore.add(noItalic(messages.getMessageComponent("selector-item-status", args)));
+        lore.add(noItalic(messages.getMessageComponent("selector-item-players", args)));
+        if (state == GameState.WAITING || state == GameState.STARTING) {
+            lore.add(noItalic(messages.getMessageComponent("selector-item-join", args)));
+        } else if (state == GameState.IN_GAME && config.isSpectatorsAllowed()) {
+            lore.add(noItalic(messages.getMessageComponent("selector-item-spectate", args)));
+        }
+        meta.lore(lore);
+        icon.setItemMeta(meta);
+        display.icon = icon;
+        return true;
+    }
+
+    private static Component noItalic(Component component) {
+        return component.decoration(TextDecoration.ITALIC, false); // Item names and lore are italic by default
+    }
+
+    private static Material iconMaterial(GameState state) {
+        return switch (state) {
+            case WAITING -> Material.LIME_WOOL;
+            case STARTING -> Material.YELLOW_WOOL;
+            case IN_GAME -> Material.RED_WOOL;
+            case ENDING, REGENERATING -> Material.ORANGE_WOOL;
+            case DISABLED -> Material.GRAY_WOOL;
+        };
+    }
+
+    // --- Signs ---
+
+    public boolean hasSigns() {
+        return !signs.isEmpty();
+    }
+
+    // Arena (lower-case name) of the join sign at this block, or null
+    public String getSignArena(Block block) {
+        return signs.isEmpty() ? null : signs.get(block.getLocation());
+    }
+
+    // Registers a new join sign and returns the lines to write on it, or null if the arena does not exist
+    public Component[] createSign(Block block, String arenaName) {
+        Arena arena = plugin.getArenaManager().getArena(arenaName);
+        if (arena == null) return null;
+        String key = arena.getName().toLowerCase();
+        addSign(block.getLocation(), key);
+        saveSigns();
+        Display display = displays.computeIfAbsent(key, k -> new Display());
+        render(arena, display);
+        return display.signLines;
+    }
+
+    public void removeSign(Block block) {
+        Location location = block.getLocation();
+        if (signs.remove(location) == null) return;
+        long chunkKey = LocationUtil.chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        List<Location> inChunk = signsByChunk.get(chunkKey);
+        if (inChunk != null) {
+            inChunk.remove(location);
+            if (inChunk.isEmpty()) signsByChunk.remove(chunkKey);
+        }
+        saveSigns();
+    }
+
+    // Signs whose arena changed while their chunk was unloaded get the current text when it loads again
+    public void chunkLoaded(Chunk chunk) {
+        List<Location> inChunk = signsByChunk.get(LocationUtil.chunkKey(chunk.getX(), chunk.getZ()));
+        if (inChunk == null) return;
+        for (Location location : inChunk) {
+            if (!chunk.getWorld().equals(location.getWorld())) continue;
+            Display display = displays.get(signs.get(location));
+            if (display != null && display.signLines != null) applySign(location, display);
+        }
+    }
+
+    private void addSign(Location location, String arenaKey) {
+        String previous = signs.put(location, arenaKey);
+        if (previous != null) return; // Re-assigned, already indexed by chunk
+        signsByChunk.computeIfAbsent(LocationUtil.chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), k -> new ArrayList<>(1)).add(location);
+    }
+
+    private void applySign(Location location, Display display) {
+        if (location.getWorld() == null || !location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) return;
+        BlockState state = location.getBlock().getState();
+        if (!(state instanceof Sign sign)) return; // Broken or replaced, the registration stays until removed
+        boolean changed = false;
+        for (int i = 0; i < display.signLines.length; i++) {
+            if (!display.signLines[i].equals(sign.line(i))) {
+                sign.line(i, display.signLines[i]);
+                changed = true;
+            }
+        }
+        if (changed) sign.update(false, false);
+    }
+
+    private static Location toBlockLocation(Location location) {
+        return new Location(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    // --- Selector ---
+
+    public void openSelector(Player player) {
+        if (layoutDirty) flush();
+        if (selector == null) selector = createSelector(sortedArenas());
+        if (!dirty.isEmpty()) flush(); // Don't show stale or missing icons
+        player.openInventory(selector);
+    }
+
+    // Arena (lower-case name) shown in this selector slot, or null
+    public String getSelectorArena(int slot) {
+        return slot >= 0 && slot < slotArenas.length ? slotArenas[slot] : null;
+    }
+}
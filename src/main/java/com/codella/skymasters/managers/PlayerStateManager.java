@@ -0,0 +1,140 @@
+package com.codella.skymasters.managers;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.objects.PlayerSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+// Snapshots a player's state when they enter an arena and gives it back when they leave.
+// Snapshots are also written to snapshots/<uuid>.dat so a player whose state was never restored
+// (server crash mid-game) gets it back on their next login.
+// Disk writes are queued (latest record per player wins) and flushed in batches by an async task,
+// the main thread only encodes records in memory.
+public class PlayerStateManager {
+
+    private static final byte[] DELETE = new byte[0]; // Pending write marker: remove the file
+    private static final long FLUSH_INTERVAL_TICKS = 20L;
+
+    private final SkyMasters plugin;
+    private final File folder;
+    private final Map<UUID, PlayerSnapshot> active = new HashMap<>(); // Main thread only
+    private final Map<UUID, byte[]> pendingWrites = new ConcurrentHashMap<>();
+    private BukkitTask flushTask;
+
+    public PlayerStateManager(SkyMasters plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "snapshots");
+    }
+
+    public void start() {
+        if (flushTask != null) return;
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    // Plugin disable: players were restored by stopAllArenas, write out what is still queued
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+    }
+
+    // Called before an arena resets the player. Keeps the first snapshot if they already have one (player -> spectator).
+    public void capture(Player player) {
+        if (!plugin.getConfigManager().isSavePlayerState() || active.containsKey(player.getUniqueId())) return;
+        PlayerSnapshot snapshot = PlayerSnapshot.capture(player);
+        active.put(player.getUniqueId(), snapshot);
+        pendingWrites.put(player.getUniqueId(), snapshot.toBytes());
+    }
+
+    // Gives the player their state back and sends them to where they were. False if there was no snapshot.
+    public boolean restore(Player player) {
+        PlayerSnapshot snapshot = active.remove(player.getUniqueId());
+        if (snapshot == null) return false;
+        pendingWrites.put(player.getUniqueId(), DELETE);
+        apply(player, snapshot);
+        return true;
+    }
+
+    // Login: a snapshot left on disk means the player never got their state back, read it off the main thread
+    public void recover(Player player) {
+        UUID id = player.getUniqueId();
+        if (active.containsKey(id) && !plugin.getArenaManager().isParticipant(player)) {
+            // Left over from a session that ended without a release, nothing else will hand it back
+            restore(player);
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "player-state-restored"));
+            return;
+        }
+        if (active.containsKey(id) || pendingWrites.containsKey(id)) return; // Memory is ahead of the disk
+        File file = fileFor(id);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            if (!file.isFile()) return;
+            PlayerSnapshot snapshot;
+            try {
+                snapshot = PlayerSnapshot.fromBytes(Files.readAllBytes(file.toPath()));
+            } catch (IOException | RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not read player snapshot " + file.getName() + ", keeping it for manual recovery", e);
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Joined an arena (new snapshot) or left again while the file was read
+                if (!player.isOnline() || active.containsKey(id) || pendingWrites.containsKey(id)
+                        || plugin.getArenaManager().isParticipant(player)) return;
+                pendingWrites.put(id, DELETE);
+                apply(player, snapshot);
+                player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "player-state-restored"));
+            });
+        });
+    }
+
+    private void apply(Player player, PlayerSnapshot snapshot) {
+        snapshot.apply(player);
+        Location location = snapshot.getLocation();
+        TeleportManager teleports = plugin.getTeleportManager();
+        teleports.cancel(player);
+        teleports.teleport(player, location != null ? location : plugin.getConfigManager().getMainLobby());
+    }
+
+    // Runs on the async flush task, and on the main thread once when disabling
+    private synchronized void flush() {
+        if (pendingWrites.isEmpty()) return;
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            plugin.getLogger().warning("Could not create " + folder + ", player snapshots are not saved");
+            return;
+        }
+        for (UUID id : new ArrayList<>(pendingWrites.keySet())) {
+            byte[] data = pendingWrites.remove(id);
+            if (data == null) continue;
+            Path target = fileFor(id).toPath();
+            try {
+                if (data == DELETE) {
+                    Files.deleteIfExists(target);
+                } else {
+                    // Write next to the target and swap, a crash mid-write must not leave a truncated snapshot
+                    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+                    Files.write(temp, data);
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not save player snapshot for " + id, e);
+                pendingWrites.putIfAbsent(id, data); // Retry next flush unless a newer record arrived
+            }
+        }
+    }
+
+    private File fileFor(UUID id) {
+        return new File(folder, id + ".dat");
+    }
+}
@@ -2,7 +2,10 @@ package com.codella.skymasters.managers;
 
 import com.codella.skymasters.SkyMasters;
 import com.codella.skymasters.game.Arena;
+import com.codella.skymasters.game.ChestTier;
 import com.codella.skymasters.objects.SetupSession;
+import com.codella.skymasters.utils.LocationUtil;
+import com.codella.skymasters.utils.Placeholder;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.block.Chest;
@@ -15,13 +18,14 @@ public class SetupManager {
 
     private final SkyMasters plugin;
     private final Map<UUID, SetupSession> setupSessions = new HashMap<>();
+    private final BitSet setupPlayerIds = new BitSet(); // Entity ids of players in setup mode, for listener fast paths
 
     public SetupManager(SkyMasters plugin) {
         this.plugin = plugin;
     }
 
     public boolean isInSetupMode(Player player) {
-        return setupSessions.containsKey(player.getUniqueId());
+        return setupPlayerIds.get(player.getEntityId());
     }
 
     public SetupSession getSession(Player player) {
@@ -30,7 +34,7 @@ public class SetupManager {
 
     public void startSetup(Player player, String arenaName) {
         if (isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-already-in-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-already-in-mode"));
              return;
         }
 
@@ -40,10 +44,10 @@ public class SetupManager {
             plugin.getArenaManager().createArena(arenaName);
             arena = plugin.getArenaManager().getArena(arenaName);
             if (arena == null) { // Should not happen, but safety check
-                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-creation-failed"));
+                 player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-creation-failed"));
                  return;
             }
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-created-start-setup", Map.of("arena", arenaName)));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-created-start-setup", Placeholder.of("arena", arenaName)));
         }
 
         // Load existing data into the session if arena already had some setup
@@ -56,38 +60,40 @@ public class SetupManager {
         // Ensure lists are not null before adding
         if (arena.getPlayerSpawns() != null) session.getPlayerSpawns().addAll(arena.getPlayerSpawns());
         if (arena.getChestLocations() != null) session.getChestLocations().addAll(arena.getChestLocations());
+        session.getChestTierOverrides().putAll(arena.getChestTierOverrides());
 
 
         setupSessions.put(player.getUniqueId(), session);
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-mode-enter", Map.of("arena", arenaName)));
+        setupPlayerIds.set(player.getEntityId());
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-mode-enter", Placeholder.of("arena", arenaName)));
         // Give setup wand if configured
         ItemStack wandItem = new ItemStack(plugin.getConfigManager().getSetupWandItem()); // Use new ItemStack()
         player.getInventory().addItem(wandItem);
-         player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-wand-give"));
+         player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-wand-give"));
     }
 
     public void finishSetup(Player player) {
         if (!isInSetupMode(player)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
             return;
         }
 
         SetupSession session = getSession(player);
         Arena arena = plugin.getArenaManager().getArena(session.getArenaName());
         if (arena == null) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("arena-not-found", Map.of("arena", session.getArenaName())));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "arena-not-found", Placeholder.of("arena", session.getArenaName())));
             endSetup(player); // Clean up session anyway
             return;
         }
 
         // Validate completeness
-         String missing = checkCompleteness(session);
+         String missing = checkCompleteness(player, session);
          if (missing != null) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-finish-incomplete", Map.of("missing", missing)));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-finish-incomplete", Placeholder.of("missing", missing)));
             return;
          }
 
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-finish-confirm", Map.of("arena", session.getArenaName())));
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-finish-confirm", Placeholder.of("arena", session.getArenaName())));
 
         // Apply session data to the arena
         arena.setCorner1(session.getPos1());
@@ -97,9 +103,11 @@ public class SetupManager {
         arena.setCenter(session.getCenter());
         arena.setPlayerSpawns(new ArrayList<>(session.getPlayerSpawns())); // Copy list
         arena.setChestLocations(new ArrayList<>(session.getChestLocations())); // Copy list
+        arena.setChestTierOverrides(session.getChestTierOverrides()); // Copied by the arena, tiers recomputed once here
 
          // Save the arena config first *without* block data
         plugin.getArenaManager().saveArena(arena);
+        plugin.getArenaManager().rebuildIndex(); // Bounds may have changed
 
 
         // Attempt to save initial state for FULL regeneration *after* saving setup
@@ -113,14 +121,15 @@ public class SetupManager {
         }
 
 
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-finish-success", Map.of("arena", session.getArenaName())));
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-finish-success", Placeholder.of("arena", session.getArenaName())));
         endSetup(player); // Exit setup mode
     }
 
     public void endSetup(Player player) {
         SetupSession session = setupSessions.remove(player.getUniqueId());
+        setupPlayerIds.clear(player.getEntityId());
         if (session != null) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-mode-exit", Map.of("arena", session.getArenaName())));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-mode-exit", Placeholder.of("arena", session.getArenaName())));
             // Remove setup wand if player still has it
              player.getInventory().remove(plugin.getConfigManager().getSetupWandItem());
         }
@@ -132,36 +141,36 @@ public class SetupManager {
 
         if (leftClick) {
             session.setPos1(location);
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-pos1-set"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-pos1-set"));
         } else {
             session.setPos2(location);
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-pos2-set"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-pos2-set"));
         }
         // Check if both are set and provide feedback if needed
         if (session.getPos1() != null && session.getPos2() != null) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-bounds-defined"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-bounds-defined"));
         }
     }
 
      public void addSpawnPoint(Player player) {
          if (!isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          SetupSession session = getSession(player);
           // Use precise player location, keep pitch/yaw
          Location loc = player.getLocation();
          session.getPlayerSpawns().add(loc);
-         player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-spawn-added", Map.of("index", String.valueOf(session.getPlayerSpawns().size()))));
+         player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-spawn-added", Placeholder.of("index", session.getPlayerSpawns().size())));
      }
 
     public void addOrRemoveChest(Player player, Block targetBlock) {
         if (!isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          if (!(targetBlock.getState() instanceof Chest)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-invalid-block-chest"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-invalid-block-chest"));
             return;
          }
 
@@ -178,60 +187,95 @@ public class SetupManager {
 
 
         if (removed) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-chest-removed", Map.of("count", String.valueOf(session.getChestLocations().size()))));
+             session.getChestTierOverrides().remove(LocationUtil.blockKey(chestLoc.getBlockX(), chestLoc.getBlockY(), chestLoc.getBlockZ()));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-chest-removed", Placeholder.of("count", session.getChestLocations().size())));
         } else {
              session.getChestLocations().add(chestLoc);
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-chest-added", Map.of("count", String.valueOf(session.getChestLocations().size()))));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-chest-added", Placeholder.of("count", session.getChestLocations().size())));
          }
     }
 
 
+    // Overrides the computed loot tier of the configured chest the player is looking at. "auto" removes the override.
+    public void setChestTier(Player player, String tierName) {
+        if (!isInSetupMode(player)) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
+            return;
+        }
+        SetupSession session = getSession(player);
+        Block target = player.getTargetBlockExact(6);
+        boolean configured = target != null && session.getChestLocations().stream().anyMatch(loc ->
+                loc.getWorld().equals(target.getWorld()) &&
+                loc.getBlockX() == target.getX() &&
+                loc.getBlockY() == target.getY() &&
+                loc.getBlockZ() == target.getZ());
+        if (!configured) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-look-at-chest"));
+            return;
+        }
+
+        long key = LocationUtil.blockKey(target.getX(), target.getY(), target.getZ());
+        if ("auto".equalsIgnoreCase(tierName)) {
+            session.getChestTierOverrides().remove(key);
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-chest-tier-auto"));
+            return;
+        }
+        ChestTier tier = ChestTier.fromName(tierName);
+        if (tier == null) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "invalid-arguments", Placeholder.of("usage", "/sw setchesttier <spawn|mid|center|auto>")));
+            return;
+        }
+        session.getChestTierOverrides().put(key, tier);
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-chest-tier-set", Placeholder.of("tier", tier.name())));
+    }
+
+
      public void setLobbySpawn(Player player) {
         if (!isInSetupMode(player)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
             return;
         }
         SetupSession session = getSession(player);
         session.setLobbySpawn(player.getLocation());
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-lobby-set"));
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-lobby-set"));
      }
 
      public void setSpectatorSpawn(Player player) {
          if (!isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          SetupSession session = getSession(player);
          session.setSpectatorSpawn(player.getLocation());
-         player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-spectator-spawn-set"));
+         player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-spectator-spawn-set"));
      }
 
       public void setCenter(Player player) {
          if (!isInSetupMode(player)) {
-             player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-not-in-setup-mode"));
+             player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-not-in-setup-mode"));
              return;
          }
          SetupSession session = getSession(player);
          session.setCenter(player.getLocation());
-         player.sendMessage(plugin.getConfigManager().getPrefixedMessage("setup-center-set"));
+         player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "setup-center-set"));
       }
 
 
-    private String checkCompleteness(SetupSession session) {
+    private String checkCompleteness(Player player, SetupSession session) {
          List<String> missingItems = new ArrayList<>();
          int minSpawns = plugin.getConfigManager().getMinPlayersToStart(); // Base required spawns on min players
 
          if (session.getPos1() == null || session.getPos2() == null) {
-             missingItems.add(plugin.getConfigManager().getMessage("setup-missing-bounds"));
+             missingItems.add(plugin.getConfigManager().getMessage(player, "setup-missing-bounds"));
          }
          if (session.getPlayerSpawns().size() < minSpawns) {
-              missingItems.add(plugin.getConfigManager().getMessage("setup-missing-spawns", Map.of("min", String.valueOf(minSpawns), "current", String.valueOf(session.getPlayerSpawns().size()))));
+              missingItems.add(plugin.getConfigManager().getMessage(player, "setup-missing-spawns", Placeholder.of("min", minSpawns), Placeholder.of("current", session.getPlayerSpawns().size())));
          }
          if (session.getLobbySpawn() == null) {
-             missingItems.add(plugin.getConfigManager().getMessage("setup-missing-lobby"));
+             missingItems.add(plugin.getConfigManager().getMessage(player, "setup-missing-lobby"));
          }
         if (session.getSpectatorSpawn() == null) {
-             missingItems.add(plugin.getConfigManager().getMessage("setup-missing-spectator"));
+             missingItems.add(plugin.getConfigManager().getMessage(player, "setup-missing-spectator"));
          }
         // Chests and Center are optional for basic functionality
 
@@ -0,0 +1,156 @@
+package com.codella.skymasters.managers;
+
+import com.codella.skymasters.SkyMasters;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// Spreads plugin teleports over ticks: at most teleports-per-tick teleportAsync calls are started per tick,
+// the rest wait in a FIFO queue drained by a task that only runs while the queue is non-empty.
+// A match start or end with a full arena no longer loads every destination chunk in one tick.
+// Main thread only. Returned futures complete on the main thread with the teleport result (false if skipped).
+public class TeleportManager {
+
+    private static final class Request {
+        private final Player player;
+        private final Location destination;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private Request(Player player, Location destination) {
+            this.player = player;
+            this.destination = destination;
+        }
+    }
+
+    private final SkyMasters plugin;
+    private final ArrayDeque<Request> queue = new ArrayDeque<>();
+    private final Map<UUID, Request> inFlight = new HashMap<>(); // Started, waiting for the destination chunk
+    private BukkitTask drainTask;
+    private int budgetTick = -1; // Server tick the budget below belongs to
+    private int startedThisTick;
+
+    public TeleportManager(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    // Starts the teleport right away if this tick still has budget, otherwise queues it behind earlier ones
+    public CompletableFuture<Boolean> teleport(Player player, Location destination) {
+        Request request = new Request(player, destination);
+        if (queue.isEmpty() && takeBudget()) {
+            dispatch(request);
+        } else {
+            queue.add(request);
+            if (drainTask == null) {
+                drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+            }
+        }
+        return request.result;
+    }
+
+    // Drops teleports still waiting for this player, e.g. a start teleport queued before they left the arena
+    public void cancel(Player player) {
+        Request started = inFlight.remove(player.getUniqueId());
+        if (started != null) started.result.complete(false);
+        Iterator<Request> it = queue.iterator();
+        while (it.hasNext()) {
+            Request request = it.next();
+            if (request.player.equals(player)) {
+                it.remove();
+                request.result.complete(false);
+            }
+        }
+    }
+
+    // A quitting player is saved right after the quit event, so their latest teleport can't wait for a later tick
+    public void completeNow(Player player) {
+        Request latest = inFlight.remove(player.getUniqueId());
+        Iterator<Request> it = queue.iterator();
+        while (it.hasNext()) {
+            Request request = it.next();
+            if (!request.player.equals(player)) continue;
+            it.remove();
+            if (latest != null) latest.result.complete(false); // Superseded
+            latest = request;
+        }
+        if (latest != null && latest.destination != null && latest.destination.getWorld() != null) {
+            latest.result.complete(player.teleport(latest.destination));
+        }
+    }
+
+    // Plugin disable: the drain task won't run again and pending chunk loads won't finish before players are saved,
+    // so finish started teleports, then the queue (newer requests), synchronously
+    public void stop() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        List<Request> started = new ArrayList<>(inFlight.values());
+        inFlight.clear(); // Late chunk callbacks see the request is no longer current and do nothing
+        for (Request request : started) {
+            request.result.complete(request.player.isOnline() && request.player.teleport(request.destination));
+        }
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.result.complete(request.player.isOnline() && request.player.teleport(request.destination));
+        }
+    }
+
+    private void drain() {
+        while (!queue.isEmpty() && takeBudget()) {
+            dispatch(queue.poll());
+        }
+        if (queue.isEmpty() && drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+    }
+
+    private boolean takeBudget() {
+        int tick = Bukkit.getCurrentTick();
+        if (tick != budgetTick) {
+            budgetTick = tick;
+            startedThisTick = 0;
+        }
+        if (startedThisTick >= plugin.getConfigManager().getTeleportsPerTick()) return false;
+        startedThisTick++;
+        return true;
+    }
+
+    private void dispatch(Request request) {
+        if (!request.player.isOnline() || request.destination == null || request.destination.getWorld() == null) {
+            request.result.complete(false);
+            return;
+        }
+        UUID id = request.player.getUniqueId();
+        Request superseded = inFlight.put(id, request);
+        if (superseded != null) superseded.result.complete(false);
+        // Load the chunk first so a request cancelled or superseded meanwhile never moves the player
+        request.destination.getWorld().getChunkAtAsync(request.destination).whenComplete((chunk, loadError) -> {
+            if (inFlight.get(id) != request || loadError != null || !request.player.isOnline()) {
+                inFlight.remove(id, request);
+                if (loadError != null) {
+                    plugin.getLogger().warning("Could not load teleport destination for " + request.player.getName() + ": " + loadError.getMessage());
+                }
+                request.result.complete(false);
+                return;
+            }
+            request.player.teleportAsync(request.destination).whenComplete((success, error) -> {
+                inFlight.remove(id, request);
+                if (error != null) {
+                    plugin.getLogger().warning("Teleport of " + request.player.getName() + " failed: " + error.getMessage());
+                }
+                request.result.complete(error == null && Boolean.TRUE.equals(success));
+            });
+        });
+    }
+}
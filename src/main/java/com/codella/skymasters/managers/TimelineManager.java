@@ -0,0 +1,44 @@
+package com.codella.skymasters.managers;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+// Shared scheduler for all arena timelines: one timing wheel driven by a single plugin tick task,
+// instead of a BukkitRunnable per arena and feature.
+public class TimelineManager {
+
+    private static final int WHEEL_SLOTS = 512; // ~25 seconds per wheel revolution
+
+    private final SkyMasters plugin;
+    private final TimingWheel wheel;
+    private BukkitTask tickTask;
+
+    public TimelineManager(SkyMasters plugin) {
+        this.plugin = plugin;
+        this.wheel = new TimingWheel(WHEEL_SLOTS, plugin.getLogger());
+    }
+
+    public void start() {
+        if (tickTask != null) return;
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, wheel::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        wheel.clear();
+    }
+
+    public TimingWheel.Timeout schedule(long delayTicks, Runnable task) {
+        return wheel.schedule(delayTicks, task);
+    }
+
+    // Ticks since the plugin was enabled
+    public long getCurrentTick() {
+        return wheel.getCurrentTick();
+    }
+}
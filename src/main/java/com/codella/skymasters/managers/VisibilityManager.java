@@ -0,0 +1,137 @@
+package com.codella.skymasters.managers;
+
+import com.codella.skymasters.SkyMasters;
+import com.codella.skymasters.game.Arena;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+// Keeps one view group per arena and applies hidePlayer/showPlayer deltas when membership changes:
+// - with arena isolation on, participants only see (and are tracked by) members of their own arena
+// - spectators are hidden from the arena's players, spectators see everyone in their arena
+// Only pairs whose visibility actually flips are touched. A role change inside an arena only walks that arena's group.
+// Main thread only.
+public class VisibilityManager {
+
+    private static final class ViewState {
+        private final Player player;
+        private final Arena arena;
+        private final boolean spectator;
+
+        private ViewState(Player player, Arena arena, boolean spectator) {
+            this.player = player;
+            this.arena = arena;
+            this.spectator = spectator;
+        }
+    }
+
+    private final SkyMasters plugin;
+    private final Map<UUID, ViewState> states = new HashMap<>(); // Participants only, outsiders have no entry
+    private final Map<Arena, Map<UUID, ViewState>> groups = new HashMap<>(); // Arena -> its members
+
+    public VisibilityManager(SkyMasters plugin) {
+        this.plugin = plugin;
+    }
+
+    // Called by ArenaManager whenever a participant joins an arena or changes role. arena == null means they left.
+    public void update(Player player, Arena arena, boolean spectator) {
+        ViewState oldState = states.get(player.getUniqueId());
+        ViewState newState = arena != null ? new ViewState(player, arena, spectator) : null;
+        if (oldState == null && newState == null) return;
+        if (oldState != null && newState != null && oldState.arena == newState.arena && oldState.spectator == newState.spectator) return;
+
+        // Update bookkeeping first so the new state is used for everyone else
+        if (oldState != null) {
+            Map<UUID, ViewState> group = groups.get(oldState.arena);
+            if (group != null) {
+                group.remove(player.getUniqueId());
+                if (group.isEmpty()) groups.remove(oldState.arena);
+            }
+        }
+        if (newState != null) {
+            states.put(player.getUniqueId(), newState);
+            groups.computeIfAbsent(arena, a -> new HashMap<>()).put(player.getUniqueId(), newState);
+        } else {
+            states.remove(player.getUniqueId());
+        }
+
+        boolean isolate = plugin.getConfigManager().isArenaVisibilityIsolated();
+        if (isolate && oldState != null && newState != null && oldState.arena == newState.arena) {
+            // Role change inside one arena: nobody outside it is affected
+            for (ViewState other : groups.get(arena).values()) {
+                applyDelta(oldState, newState, other);
+            }
+        } else if (!isolate) {
+            // Without isolation only spectator hiding matters, which only concerns the arenas involved
+            if (oldState != null) forEachMember(oldState.arena, other -> applyDelta(oldState, newState, other));
+            if (newState != null && (oldState == null || oldState.arena != newState.arena)) {
+                forEachMember(newState.arena, other -> applyDelta(oldState, newState, other));
+            }
+        } else {
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                if (online.equals(player)) continue;
+                ViewState other = states.get(online.getUniqueId());
+                applyDelta(oldState, newState, other != null ? other : new ViewState(online, null, false));
+            }
+        }
+    }
+
+    // A player joining the server is an outsider: hide every participant from them and them from every participant
+    public void handleServerJoin(Player player) {
+        if (states.isEmpty() || !plugin.getConfigManager().isArenaVisibilityIsolated()) return;
+        ViewState outsider = new ViewState(player, null, false);
+        for (ViewState participant : states.values()) {
+            apply(outsider, participant, false);
+            apply(participant, outsider, false);
+        }
+    }
+
+    // Shows everyone to everyone again (reload/disable)
+    public void reset() {
+        for (ViewState state : new ArrayList<>(states.values())) {
+            update(state.player, null, false);
+        }
+    }
+
+    private void forEachMember(Arena arena, Consumer<ViewState> action) {
+        Map<UUID, ViewState> group = groups.get(arena);
+        if (group == null) return;
+        for (ViewState other : group.values()) {
+            action.accept(other);
+        }
+    }
+
+    // Re-evaluates both directions between the changed player and one other player
+    private void applyDelta(ViewState before, ViewState after, ViewState other) {
+        Player subject = after != null ? after.player : before.player;
+        if (other.player.equals(subject)) return;
+        ViewState beforeOrOutsider = before != null ? before : new ViewState(subject, null, false);
+        ViewState afterOrOutsider = after != null ? after : new ViewState(subject, null, false);
+
+        boolean otherSaw = canSee(other, beforeOrOutsider);
+        boolean otherSees = canSee(other, afterOrOutsider);
+        if (otherSaw != otherSees) apply(other, afterOrOutsider, otherSees);
+
+        boolean subjectSaw = canSee(beforeOrOutsider, other);
+        boolean subjectSees = canSee(afterOrOutsider, other);
+        if (subjectSaw != subjectSees) apply(afterOrOutsider, other, subjectSees);
+    }
+
+    private boolean canSee(ViewState viewer, ViewState target) {
+        if (viewer.arena != target.arena) {
+            return !plugin.getConfigManager().isArenaVisibilityIsolated();
+        }
+        if (target.arena == null) return true;
+        return !target.spectator || viewer.spectator; // Spectators are only visible to other spectators
+    }
+
+    private void apply(ViewState viewer, ViewState target, boolean visible) {
+        if (visible) {
+            viewer.player.showPlayer(plugin, target.player);
+        } else {
+            viewer.player.hidePlayer(plugin, target.player);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.codella.skymasters.objects;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// A player's state from before they joined an arena: inventory, effects, location, XP, health and game mode.
+// Items are serialized when captured (main thread), so the record itself is plain data and can be encoded
+// to its compact binary form on any thread.
+public final class PlayerSnapshot {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final class Effect {
+        private final String type;
+        private final int duration;
+        private final int amplifier;
+        private final boolean ambient;
+        private final boolean particles;
+        private final boolean icon;
+
+        private Effect(String type, int duration, int amplifier, boolean ambient, boolean particles, boolean icon) {
+            this.type = type;
+            this.duration = duration;
+            this.amplifier = amplifier;
+            this.ambient = ambient;
+            this.particles = particles;
+            this.icon = icon;
+        }
+    }
+
+    private final String world;
+    private final double x, y, z;
+    private final float yaw, pitch;
+    private final GameMode gameMode;
+    private final double health;
+    private final int foodLevel;
+    private final float saturation;
+    private final int level;
+    private final float exp;
+    private final int totalExperience;
+    private final boolean allowFlight;
+    private final boolean flying;
+    private final byte[][] items; // Full inventory contents (storage, armor, offhand), empty array = empty slot
+    private final List<Effect> effects;
+
+    private PlayerSnapshot(String world, double x, double y, double z, float yaw, float pitch, GameMode gameMode,
+                           double health, int foodLevel, float saturation, int level, float exp, int totalExperience,
+                           boolean allowFlight, boolean flying, byte[][] items, List<Effect> effects) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.gameMode = gameMode;
+        this.health = health;
+        this.foodLevel = foodLevel;
+        this.saturation = saturation;
+        this.level = level;
+        this.exp = exp;
+        this.totalExperience = totalExperience;
+        this.allowFlight = allowFlight;
+        this.flying = flying;
+        this.items = items;
+        this.effects = effects;
+    }
+
+    public static PlayerSnapshot capture(Player player) {
+        Location loc = player.getLocation();
+        ItemStack[] contents = player.getInventory().getContents();
+        byte[][] items = new byte[contents.length][];
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack item = contents[i];
+            items[i] = item == null || item.getType().isAir() ? new byte[0] : item.serializeAsBytes();
+        }
+        Collection<PotionEffect> active = player.getActivePotionEffects();
+        List<Effect> effects = new ArrayList<>(active.size());
+        for (PotionEffect effect : active) {
+            effects.add(new Effect(effect.getType().getKey().toString(), effect.getDuration(), effect.getAmplifier(),
+                    effect.isAmbient(), effect.hasParticles(), effect.hasIcon()));
+        }
+        return new PlayerSnapshot(loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ(), loc.getYaw(), loc.getPitch(),
+                player.getGameMode(), player.getHealth(), player.getFoodLevel(), player.getSaturation(),
+                player.getLevel(), player.getExp(), player.getTotalExperience(), player.getAllowFlight(), player.isFlying(),
+                items, effects);
+    }
+
+    // Restores everything except the location, which the caller teleports to
+    public void apply(Player player) {
+        player.setGameMode(gameMode);
+        player.setHealth(Math.min(health, player.getMaxHealth()));
+        player.setFoodLevel(foodLevel);
+        player.setSaturation(saturation);
+        player.setTotalExperience(totalExperience);
+        player.setLevel(level);
+        player.setExp(exp);
+        player.setFireTicks(0);
+        player.setFallDistance(0);
+
+        ItemStack[] contents = new ItemStack[player.getInventory().getSize()];
+        for (int i = 0; i < items.length && i < contents.length; i++) {
+            contents[i] = items[i].length == 0 ? null : ItemStack.deserializeBytes(items[i]);
+        }
+        player.getInventory().setContents(contents);
+
+        for (PotionEffect effect : player.getActivePotionEffects()) {
+            player.removePotionEffect(effect.getType());
+        }
+        for (Effect effect : effects) {
+            NamespacedKey key = NamespacedKey.fromString(effect.type);
+            PotionEffectType type = key != null ? PotionEffectType.getByKey(key) : null;
+            if (type == null) continue; // Effect removed since the snapshot was taken
+            player.addPotionEffect(new PotionEffect(type, effect.duration, effect.amplifier, effect.ambient, effect.particles, effect.icon));
+        }
+
+        player.setAllowFlight(allowFlight || gameMode == GameMode.CREATIVE || gameMode == GameMode.SPECTATOR);
+        player.setFlying(flying && player.getAllowFlight());
+        player.setFlySpeed(0.1f);
+        player.setWalkSpeed(0.2f);
+    }
+
+    // Null if the world no longer exists
+    public Location getLocation() {
+        World w = Bukkit.getWorld(world);
+        return w != null ? new Location(w, x, y, z, yaw, pitch) : null;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(world);
+            out.writeDouble(x);
+            out.writeDouble(y);
+            out.writeDouble(z);
+            out.writeFloat(yaw);
+            out.writeFloat(pitch);
+            out.writeUTF(gameMode.name());
+            out.writeDouble(health);
+            out.writeInt(foodLevel);
+            out.writeFloat(saturation);
+            out.writeInt(level);
+            out.writeFloat(exp);
+            out.writeInt(totalExperience);
+            out.writeBoolean(allowFlight);
+            out.writeBoolean(flying);
+            out.writeInt(items.length);
+            for (byte[] item : items) {
+                out.writeInt(item.length);
+                out.write(item);
+            }
+            out.writeInt(effects.size());
+            for (Effect effect : effects) {
+                out.writeUTF(effect.type);
+                out.writeInt(effect.duration);
+                out.writeInt(effect.amplifier);
+                out.writeBoolean(effect.ambient);
+                out.writeBoolean(effect.particles);
+                out.writeBoolean(effect.icon);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // In-memory stream, doesn't happen
+        }
+        return bytes.toByteArray();
+    }
+
+    public static PlayerSnapshot fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported player snapshot version " + version);
+            }
+            String world = in.readUTF();
+            double x = in.readDouble();
+            double y = in.readDouble();
+            double z = in.readDouble();
+            float yaw = in.readFloat();
+            float pitch = in.readFloat();
+            GameMode gameMode;
+            try {
+                gameMode = GameMode.valueOf(in.readUTF());
+            } catch (IllegalArgumentException e) {
+                gameMode = Bukkit.getDefaultGameMode();
+            }
+            double health = in.readDouble();
+            int foodLevel = in.readInt();
+            float saturation = in.readFloat();
+            int level = in.readInt();
+            float exp = in.readFloat();
+            int totalExperience = in.readInt();
+            boolean allowFlight = in.readBoolean();
+            boolean flying = in.readBoolean();
+            byte[][] items = new byte[in.readInt()][];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new byte[in.readInt()];
+                in.readFully(items[i]);
+            }
+            int effectCount = in.readInt();
+            List<Effect> effects = new ArrayList<>(effectCount);
+            for (int i = 0; i < effectCount; i++) {
+                effects.add(new Effect(in.readUTF(), in.readInt(), in.readInt(), in.readBoolean(), in.readBoolean(), in.readBoolean()));
+            }
+            return new PlayerSnapshot(world, x, y, z, yaw, pitch, gameMode, health, foodLevel, saturation,
+                    level, exp, totalExperience, allowFlight, flying, items, effects);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.codella.skymasters.objects;
 
+import com.codella.skymasters.game.ChestTier;
 import org.bukkit.Location;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 // Holds temporary data for a player configuring an arena
 public class SetupSession {
@@ -16,6 +19,7 @@ public class SetupSession {
     private Location center;
     private final List<Location> playerSpawns = new ArrayList<>();
     private final List<Location> chestLocations = new ArrayList<>();
+    private final Map<Long, ChestTier> chestTierOverrides = new HashMap<>(); // Block key -> manual tier
 
 
     public SetupSession(String arenaName) {
@@ -31,6 +35,7 @@ public class SetupSession {
     public Location getCenter() { return center; }
     public List<Location> getPlayerSpawns() { return playerSpawns; }
     public List<Location> getChestLocations() { return chestLocations; }
+    public Map<Long, ChestTier> getChestTierOverrides() { return chestTierOverrides; }
 
     // --- Setters ---
     public void setPos1(Location pos1) { this.pos1 = pos1; }
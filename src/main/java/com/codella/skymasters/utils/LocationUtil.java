@@ -107,4 +107,31 @@ public class LocationUtil {
              return null;
          }
      }
-}
\ No newline at end of file
+
+     /**
+     * Packs block coordinates into a single long (same layout as Paper's block key).
+     * Used as a cheap map key for block positions inside one world.
+     */
+     public static long blockKey(int x, int y, int z) {
+         return ((long) x & 0x7FFFFFF) | (((long) z & 0x7FFFFFF) << 27) | ((long) y << 54);
+     }
+
+     public static int blockKeyX(long key) {
+         return (int) ((key << 37) >> 37);
+     }
+
+     public static int blockKeyY(long key) {
+         return (int) (key >> 54);
+     }
+
+     public static int blockKeyZ(long key) {
+         return (int) ((key << 10) >> 37);
+     }
+
+     /**
+     * Packs chunk coordinates into a single long (same layout as Paper's chunk key).
+     */
+     public static long chunkKey(int chunkX, int chunkZ) {
+         return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+     }
+}
@@ -0,0 +1,52 @@
+package com.codella.skymasters.utils;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Map;
+
+// One language's compiled messages: messages.yml, or a messages_<locale>.yml merged over its fallbacks at load,
+// so every key resolves with a single lookup whatever the locale.
+// Immutable, safe to share between threads. Bundles are compared by identity to group recipients.
+public final class MessageBundle {
+
+    private final String locale; // Lower case, e.g. "de_de" or "de". Empty for messages.yml
+    private final Map<String, MessageTemplate> templates;
+    private final Component prefix;
+
+    public MessageBundle(String locale, Map<String, MessageTemplate> templates) {
+        this.locale = locale;
+        this.templates = templates;
+        MessageTemplate prefixTemplate = templates.get("prefix");
+        this.prefix = prefixTemplate != null ? prefixTemplate.component() : Component.empty();
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    // The compiled entries, for building bundles on top of this one
+    public Map<String, MessageTemplate> getTemplates() {
+        return templates;
+    }
+
+    public MessageTemplate getTemplate(String key) {
+        MessageTemplate template = templates.get(key);
+        return template != null ? template : MessageTemplate.compile("&cUnknown message key: " + key, false);
+    }
+
+    public String getMessage(String key, Placeholder... args) {
+        return getTemplate(key).render(args);
+    }
+
+    public String getPrefixedMessage(String key, Placeholder... args) {
+        return getMessage("prefix") + getMessage(key, args);
+    }
+
+    public Component getMessageComponent(String key, Placeholder... args) {
+        return getTemplate(key).component(args);
+    }
+
+    public Component getPrefixedComponent(String key, Placeholder... args) {
+        return prefix.append(getTemplate(key).component(args));
+    }
+}
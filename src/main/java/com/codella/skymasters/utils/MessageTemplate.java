@@ -0,0 +1,195 @@
+package com.codella.skymasters.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A messages.yml entry compiled once at load: the text split into literal segments around {placeholder} names.
+// Rendering appends segments and argument values in one pass instead of a String.replace per placeholder.
+// Entries without placeholders keep their finished String and Component, so sending them costs nothing.
+// Text is either legacy '&' codes or MiniMessage, parsed here and never again: components are built from the
+// pre-parsed segments and the argument values, styled like the text around their placeholder. Values are never
+// parsed, Component values keep their own formatting. See Placeholder.
+// Placeholders are filled in message text only, not inside tag arguments such as click or hover.
+// Immutable, safe to share between threads.
+public final class MessageTemplate {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+    private static final int MAX_PLACEHOLDERS = 256; // Marker characters stay inside the private use area
+    private static final char SLOT = '\uE000'; // Private use: SLOT + i stands in for placeholder i while parsing
+
+    private final String[] literals; // One more than names: literal, name, literal, ..., literal
+    private final String[] names;
+    private final boolean miniMessage;
+    private final int literalLength;
+    private final String text; // Finished legacy text, placeholder-free templates only
+    private final Component component; // Finished component, placeholder-free templates only
+    private final Component[] segments; // Parsed text between the placeholders found in it, one more than slots
+    private final int[] slots; // Placeholder index for each gap between segments
+    private final Style[] slotStyles; // Style of the text around each gap
+
+    private MessageTemplate(String[] literals, String[] names, boolean miniMessage) {
+        this.literals = literals;
+        this.names = names;
+        this.miniMessage = miniMessage;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+        if (names.length == 0) {
+            this.component = parse(literals[0]);
+            this.text = miniMessage ? LEGACY.serialize(component) : literals[0];
+            this.segments = null;
+            this.slots = null;
+            this.slotStyles = null;
+        } else {
+            this.component = null;
+            this.text = null;
+            StringBuilder marked = new StringBuilder(literalLength + names.length);
+            for (int i = 0; i < names.length; i++) {
+                marked.append(literals[i]).append((char) (SLOT + i));
+            }
+            Splitter splitter = new Splitter(names.length);
+            splitter.walk(parse(marked.append(literals[names.length]).toString()), Style.empty());
+            this.segments = splitter.segments();
+            this.slots = splitter.slots.stream().mapToInt(Integer::intValue).toArray();
+            this.slotStyles = splitter.styles.toArray(new Style[0]);
+        }
+    }
+
+    public static MessageTemplate compile(String raw, boolean miniMessage) {
+        String source = miniMessage ? raw : ChatColor.translateAlternateColorCodes('&', raw);
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length() && names.size() < MAX_PLACEHOLDERS) {
+            char c = source.charAt(i);
+            int close = c == '{' ? source.indexOf('}', i + 1) : -1;
+            if (close > i + 1 && isPlaceholderName(source, i + 1, close)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(source.substring(i + 1, close));
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literal.append(source, i, source.length());
+        literals.add(literal.toString());
+        return new MessageTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), miniMessage);
+    }
+
+    public boolean hasPlaceholders() {
+        return names.length > 0;
+    }
+
+    // e.g. render(Placeholder.of("player", player.getName()), Placeholder.of("current", 3)).
+    // Placeholders without an argument are left as {name}.
+    public String render(Placeholder... args) {
+        if (names.length == 0) return text;
+        if (miniMessage) return LEGACY.serialize(component(args));
+        return substitute(args);
+    }
+
+    public Component component(Placeholder... args) {
+        if (names.length == 0) return component;
+        TextComponent.Builder out = Component.text();
+        for (int i = 0; i < slots.length; i++) {
+            if (segments[i] != null) out.append(segments[i]);
+            String name = names[slots[i]];
+            Placeholder value = lookup(args, name);
+            Component inserted = value != null ? value.toComponent() : Component.text('{' + name + '}');
+            // Wrapped so the value inherits the surrounding style wherever it sets none of its own
+            out.append(slotStyles[i].isEmpty() ? inserted : Component.text().style(slotStyles[i]).append(inserted).build());
+        }
+        if (segments[slots.length] != null) out.append(segments[slots.length]);
+        return out.build();
+    }
+
+    private String substitute(Placeholder[] args) {
+        StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            Placeholder value = lookup(args, names[i]);
+            if (value == null) {
+                out.append('{').append(names[i]).append('}');
+            } else {
+                value.appendTo(out);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    private Component parse(String source) {
+        return miniMessage ? MiniMessage.miniMessage().deserialize(source) : LEGACY.deserialize(source);
+    }
+
+    // Flattens a parsed template into segments around the placeholder markers, in text order
+    private static final class Splitter {
+        private final int count;
+        private final List<Component> segments = new ArrayList<>();
+        private final List<Integer> slots = new ArrayList<>();
+        private final List<Style> styles = new ArrayList<>();
+        private List<Component> current = new ArrayList<>();
+
+        private Splitter(int count) {
+            this.count = count;
+        }
+
+        private void walk(Component node, Style inherited) {
+            Style style = node.style().merge(inherited, Style.Merge.Strategy.IF_ABSENT_ON_TARGET);
+            if (node instanceof TextComponent textNode) {
+                String content = textNode.content();
+                int start = 0;
+                for (int i = 0; i < content.length(); i++) {
+                    int slot = content.charAt(i) - SLOT;
+                    if (slot < 0 || slot >= count) continue;
+                    if (i > start) current.add(Component.text(content.substring(start, i), style));
+                    segments.add(join(current));
+                    current = new ArrayList<>();
+                    slots.add(slot);
+                    styles.add(style);
+                    start = i + 1;
+                }
+                if (start < content.length()) current.add(Component.text(content.substring(start), style));
+            } else {
+                current.add(node.children(List.of()).style(style)); // Translatable, keybind, ...: kept whole
+            }
+            for (Component child : node.children()) {
+                walk(child, style);
+            }
+        }
+
+        private Component[] segments() {
+            segments.add(join(current));
+            return segments.toArray(new Component[0]);
+        }
+
+        private static Component join(List<Component> parts) {
+            if (parts.isEmpty()) return null;
+            return parts.size() == 1 ? parts.get(0) : Component.text().append(parts).build();
+        }
+    }
+
+    private static Placeholder lookup(Placeholder[] args, String name) {
+        for (Placeholder arg : args) {
+            if (name.equals(arg.getName())) return arg;
+        }
+        return null;
+    }
+
+    private static boolean isPlaceholderName(String source, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-')) return false;
+        }
+        return true;
+    }
+}
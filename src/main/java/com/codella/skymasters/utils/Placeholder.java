@@ -0,0 +1,62 @@
+package com.codella.skymasters.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+// A {name} value for a message template: Placeholder.of("arena", name), Placeholder.of("current", 3).
+// Typed factories keep names and values paired at compile time; numbers stay unboxed until they are appended.
+// Immutable, safe to share between threads.
+public final class Placeholder {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private final String name;
+    private final String text; // Plain text value, null for numbers and components
+    private final Component component; // Formatted value, null otherwise
+    private final long number;
+
+    private Placeholder(String name, String text, Component component, long number) {
+        this.name = name;
+        this.text = text;
+        this.component = component;
+        this.number = number;
+    }
+
+    public static Placeholder of(String name, String value) {
+        return new Placeholder(name, String.valueOf(value), null, 0);
+    }
+
+    public static Placeholder of(String name, int value) {
+        return new Placeholder(name, null, null, value);
+    }
+
+    public static Placeholder of(String name, long value) {
+        return new Placeholder(name, null, null, value);
+    }
+
+    // Another rendered message, inserted with its formatting
+    public static Placeholder of(String name, Component value) {
+        return new Placeholder(name, null, value, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Appends the value to finished legacy text
+    void appendTo(StringBuilder out) {
+        if (component != null) {
+            out.append(LEGACY.serialize(component));
+        } else if (text != null) {
+            out.append(text);
+        } else {
+            out.append(number);
+        }
+    }
+
+    // The value as a component, never parsed: text stays literal, components keep their formatting
+    Component toComponent() {
+        if (component != null) return component;
+        return text != null ? Component.text(text) : Component.text(number);
+    }
+}
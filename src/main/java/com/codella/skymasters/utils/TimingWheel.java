@@ -0,0 +1,114 @@
+package com.codella.skymasters.utils;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel with one-tick resolution.
+ * Scheduling and cancelling are O(1); each tick only visits the timeouts hashed into the current slot.
+ * Not thread safe, must only be used from the main server thread.
+ */
+public class TimingWheel {
+
+    private final Timeout[] slots; // Head of a doubly linked list per slot
+    private final int mask;
+    private final Logger logger;
+    private long currentTick;
+
+    public TimingWheel(int slotCount, Logger logger) {
+        if (slotCount <= 0 || (slotCount & (slotCount - 1)) != 0) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.slots = new Timeout[slotCount];
+        this.mask = slotCount - 1;
+        this.logger = logger;
+    }
+
+    /**
+     * Schedules a task to run after the given number of ticks (minimum 1).
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        Timeout timeout = new Timeout(this, task, currentTick + Math.max(1L, delayTicks));
+        int index = (int) (timeout.deadline & mask);
+        timeout.slot = index;
+        timeout.next = slots[index];
+        if (timeout.next != null) timeout.next.prev = timeout;
+        slots[index] = timeout;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every timeout that is due.
+     */
+    public void tick() {
+        currentTick++;
+        Timeout timeout = slots[(int) (currentTick & mask)];
+        while (timeout != null) {
+            Timeout next = timeout.next; // Removed timeouts keep their next pointer, so this stays valid
+            if (timeout.slot >= 0 && timeout.deadline <= currentTick) {
+                unlink(timeout);
+                try {
+                    timeout.task.run();
+                } catch (Throwable t) {
+                    logger.log(Level.SEVERE, "Error running scheduled timeline task", t);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            Timeout timeout = slots[i];
+            while (timeout != null) {
+                timeout.slot = -1;
+                timeout = timeout.next;
+            }
+            slots[i] = null;
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.slot = -1;
+    }
+
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private int slot; // -1 once fired or cancelled
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            if (slot >= 0) {
+                wheel.unlink(this);
+            }
+        }
+
+        public boolean isPending() {
+            return slot >= 0;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}